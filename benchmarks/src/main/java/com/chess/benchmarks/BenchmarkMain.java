@@ -0,0 +1,27 @@
+package com.chess.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public final class BenchmarkMain {
+    /**
+     * JMH entry point that always attaches the GC profiler, so allocation rates are reported
+     * next to throughput. Takes the usual JMH command line options.
+     */
+
+    private BenchmarkMain() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
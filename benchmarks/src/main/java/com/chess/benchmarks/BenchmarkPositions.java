@@ -0,0 +1,43 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.pgn.FenUtilities;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class BenchmarkPositions {
+    /**
+     * Fixed positions every benchmark runs on, so results stay comparable between runs:
+     * the opening, a crowded middlegame with all special moves available, a quiet
+     * middlegame and a sparse endgame.
+     */
+
+    @Param({"start", "kiwipete", "middlegame", "endgame"})
+    public String position;
+
+    public Board board;
+
+    @Setup
+    public void setUp() {
+        this.board = FenUtilities.createGameFromFEN(fenOf(this.position));
+    }
+
+    static String fenOf(final String position) {
+        switch (position) {
+            case "start":
+                return "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+            case "kiwipete":
+                return "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+            case "middlegame":
+                return "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+            case "endgame":
+                return "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+            default:
+                throw new IllegalArgumentException("Unknown benchmark position " + position);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.player.ai.BoardEvaluator;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+
+    private final BoardEvaluator evaluator = new StandardBoardEvaluator();
+
+    /**
+     * StandardBoardEvaluator.evaluate(Board) on the position after each legal move. Players cache
+     * their moves and status per board, so the children are built fresh each time; the cost of
+     * Move.execute is measured on its own by MoveExecutionBenchmark.
+     */
+    @Benchmark
+    public void evaluateBoard(final BenchmarkPositions positions, final Blackhole blackhole) {
+        for (final Move move : positions.board.getCurrentPlayer().getLegalMoves()) {
+            final Board child = move.execute();
+            blackhole.consume(this.evaluator.evaluate(child));
+        }
+    }
+
+    /**
+     * StandardBoardEvaluator.evaluate(MutableBoard), the leaf evaluation the search uses,
+     * on the position after each legal move.
+     */
+    @Benchmark
+    public void evaluateMutableBoard(final SearchBoardState state, final Blackhole blackhole) {
+        final MutableBoard board = state.board;
+        final MoveList moves = state.moves;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            board.makeMove(move);
+            blackhole.consume(this.evaluator.evaluate(board));
+            board.unmakeMove(move);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SearchBoardState {
+        MutableBoard board;
+        MoveList moves;
+
+        @Setup
+        public void setUp(final BenchmarkPositions positions) {
+            this.board = new MutableBoard(positions.board);
+            this.moves = new MoveList();
+            this.board.generateMoves(this.moves);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Move;
+import com.chess.engine.player.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveExecutionBenchmark {
+
+    /**
+     * Move.execute on every legal move of the position.
+     */
+    @Benchmark
+    public void execute(final BenchmarkPositions positions, final Blackhole blackhole) {
+        for (final Move move : positions.board.getCurrentPlayer().getLegalMoves()) {
+            blackhole.consume(move.execute());
+        }
+    }
+
+    /**
+     * Player.makeMove on every legal move of the position: the legality lookup plus execution.
+     */
+    @Benchmark
+    public void makeMove(final BenchmarkPositions positions, final Blackhole blackhole) {
+        final Player player = positions.board.getCurrentPlayer();
+        for (final Move move : player.getLegalMoves()) {
+            blackhole.consume(player.makeMove(move));
+        }
+    }
+
+}
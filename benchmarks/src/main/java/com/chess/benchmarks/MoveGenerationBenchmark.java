@@ -0,0 +1,27 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+    /**
+     * Piece.calculateLegalMoves for every piece of the side to move, which is what
+     * building a player's move list costs before the legality filter.
+     */
+    @Benchmark
+    public void calculateLegalMoves(final BenchmarkPositions positions, final Blackhole blackhole) {
+        for (final Piece piece : positions.board.getCurrentPlayer().getActivePieces()) {
+            blackhole.consume(piece.calculateLegalMoves(positions.board));
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.TranspositionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+    /**
+     * Fixed-depth searches from each benchmark position. The transposition table is allocated
+     * once and cleared before every search, so each search starts cold without its allocation
+     * showing up in the GC profile.
+     */
+
+    @Param({"3"})
+    public int depth;
+
+    private TranspositionTable transpositionTable;
+
+    @Setup(Level.Trial)
+    public void allocateTranspositionTable() {
+        this.transpositionTable = new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTranspositionTable() {
+        this.transpositionTable.clear();
+    }
+
+    @Benchmark
+    public Object alphaBeta(final BenchmarkPositions positions) {
+        final MoveStrategy strategy = new AlphaBeta.Builder()
+                .setSearchDepth(this.depth)
+                .setTranspositionTable(this.transpositionTable)
+                .build();
+        return strategy.execute(positions.board);
+    }
+
+    @Benchmark
+    public Object miniMax(final BenchmarkPositions positions) {
+        final MoveStrategy strategy = new MiniMax(this.depth);
+        return strategy.execute(positions.board);
+    }
+
+}
@@ -22,6 +22,10 @@ public enum Alliance {
         return this == WHITE;
     }
 
+    public Alliance getOpposite() {
+        return this == BLACK ? WHITE : BLACK;
+    }
+
     public Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer) {
         return this == BLACK ? blackPlayer : whitePlayer;
     }
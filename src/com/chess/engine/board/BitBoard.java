@@ -0,0 +1,264 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+public class BitBoard {
+    /**
+     * Position core: one 64-bit occupancy mask per (alliance, piece type) pair,
+     * plus side to move, castling rights and the en passant target square.
+     * Bit i of a mask stands for tile coordinate i (0 = a8, 63 = h1).
+     * Every mutator keeps the Zobrist key of the position up to date, and putPiece and
+     * removePiece the material and piece-square score as well.
+     */
+
+    public static final int EMPTY = -1;
+    public static final int NO_SQUARE = -1;
+
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    // PieceType ordinals, for indexing the piece masks
+    static final int PAWN = 0;
+    static final int KNIGHT = 1;
+    static final int BISHOP = 2;
+    static final int ROOK = 3;
+    static final int QUEEN = 4;
+    static final int KING = 5;
+
+    static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    final long[] pieceBitBoards;
+    final long[] allianceBitBoards;
+    final int[] pieceIndices;
+
+    Alliance sideToMove;
+    int castlingRights;
+    int enPassantSquare;
+    long zobristKey;
+    int middlegameScore;
+    int endgameScore;
+    int phase;
+
+    BitBoard() {
+        this.pieceBitBoards = new long[12];
+        this.allianceBitBoards = new long[2];
+        this.pieceIndices = new int[64];
+        Arrays.fill(this.pieceIndices, EMPTY);
+        this.sideToMove = Alliance.WHITE;
+        this.castlingRights = 0;
+        this.enPassantSquare = NO_SQUARE;
+        this.zobristKey = 0;
+        this.middlegameScore = 0;
+        this.endgameScore = 0;
+        this.phase = 0;
+    }
+
+    BitBoard(final BitBoard other) {
+        this.pieceBitBoards = other.pieceBitBoards.clone();
+        this.allianceBitBoards = other.allianceBitBoards.clone();
+        this.pieceIndices = other.pieceIndices.clone();
+        this.sideToMove = other.sideToMove;
+        this.castlingRights = other.castlingRights;
+        this.enPassantSquare = other.enPassantSquare;
+        this.zobristKey = other.zobristKey;
+        this.middlegameScore = other.middlegameScore;
+        this.endgameScore = other.endgameScore;
+        this.phase = other.phase;
+    }
+
+    public static int pieceIndex(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * 6 + pieceType.ordinal();
+    }
+
+    public static Alliance allianceOf(final int pieceIndex) {
+        return pieceIndex < 6 ? Alliance.WHITE : Alliance.BLACK;
+    }
+
+    public static PieceType pieceTypeOf(final int pieceIndex) {
+        return PIECE_TYPES[pieceIndex % 6];
+    }
+
+    void putPiece(final int pieceIndex, final int square) {
+        final long bit = 1L << square;
+        this.pieceBitBoards[pieceIndex] |= bit;
+        this.allianceBitBoards[pieceIndex / 6] |= bit;
+        this.pieceIndices[square] = pieceIndex;
+        this.zobristKey ^= Zobrist.pieceKey(pieceIndex, square);
+        this.middlegameScore += PieceSquareTables.middlegameScore(pieceIndex, square);
+        this.endgameScore += PieceSquareTables.endgameScore(pieceIndex, square);
+        this.phase += PieceSquareTables.phase(pieceIndex);
+    }
+
+    int removePiece(final int square) {
+        final int pieceIndex = this.pieceIndices[square];
+        if (pieceIndex != EMPTY) {
+            final long bit = 1L << square;
+            this.pieceBitBoards[pieceIndex] &= ~bit;
+            this.allianceBitBoards[pieceIndex / 6] &= ~bit;
+            this.pieceIndices[square] = EMPTY;
+            this.zobristKey ^= Zobrist.pieceKey(pieceIndex, square);
+            this.middlegameScore -= PieceSquareTables.middlegameScore(pieceIndex, square);
+            this.endgameScore -= PieceSquareTables.endgameScore(pieceIndex, square);
+            this.phase -= PieceSquareTables.phase(pieceIndex);
+        }
+        return pieceIndex;
+    }
+
+    void setSideToMove(final Alliance sideToMove) {
+        if (sideToMove != this.sideToMove) {
+            this.zobristKey ^= Zobrist.BLACK_TO_MOVE_KEY;
+            this.sideToMove = sideToMove;
+        }
+    }
+
+    void setCastlingRights(final int castlingRights) {
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.castlingKey(castlingRights);
+        this.castlingRights = castlingRights;
+    }
+
+    void setEnPassantSquare(final int enPassantSquare) {
+        this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.enPassantKey(enPassantSquare);
+        this.enPassantSquare = enPassantSquare;
+    }
+
+    boolean samePosition(final BitBoard other) {
+        return this.zobristKey == other.zobristKey
+                && this.sideToMove == other.sideToMove
+                && this.castlingRights == other.castlingRights
+                && this.enPassantSquare == other.enPassantSquare
+                && Arrays.equals(this.pieceBitBoards, other.pieceBitBoards);
+    }
+
+    /**
+     * Material and piece placement for white, blended from the middlegame tables towards the
+     * endgame ones as pieces come off; see PieceSquareTables.
+     */
+    public int getPieceSquareScore() {
+        // promotions can take the phase past its starting value
+        final int phase = Math.min(this.phase, PieceSquareTables.MAX_PHASE);
+        return (this.middlegameScore * phase + this.endgameScore * (PieceSquareTables.MAX_PHASE - phase))
+                / PieceSquareTables.MAX_PHASE;
+    }
+
+    public long getPieces(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBitBoards[pieceIndex(alliance, pieceType)];
+    }
+
+    public long getPieces(final Alliance alliance) {
+        return this.allianceBitBoards[alliance.ordinal()];
+    }
+
+    public long getOccupancy() {
+        return this.allianceBitBoards[0] | this.allianceBitBoards[1];
+    }
+
+    public int getPieceIndex(final int square) {
+        return this.pieceIndices[square];
+    }
+
+    public boolean isOccupied(final int square) {
+        return this.pieceIndices[square] != EMPTY;
+    }
+
+    /**
+     * Whether any piece of the attacker attacks the tile, worked out from the tile outwards
+     * with one lookup per piece type rather than from the attacker's moves.
+     */
+    public boolean isSquareAttacked(final int square, final Alliance attacker) {
+        return isSquareAttacked(square, attacker, getOccupancy());
+    }
+
+    public long getAttackers(final int square, final Alliance attacker) {
+        return attackersOf(square, attacker, getOccupancy());
+    }
+
+    /**
+     * Every tile attacked by the alliance, whether or not a piece stands on it.
+     */
+    public long getAttacks(final Alliance alliance) {
+        final int base = alliance.ordinal() * 6;
+        final long occupancy = getOccupancy();
+        long attacks = 0;
+        for (int pieceType = PAWN; pieceType <= KING; pieceType++) {
+            long pieces = this.pieceBitBoards[base + pieceType];
+            while (pieces != 0) {
+                final int square = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                attacks |= attacksFrom(pieceType, alliance, square, occupancy);
+            }
+        }
+        return attacks;
+    }
+
+    static long attacksFrom(final int pieceType, final Alliance alliance, final int square, final long occupancy) {
+        switch (pieceType) {
+            case PAWN:
+                return BoardUtils.PAWN_ATTACKS[alliance.ordinal()][square];
+            case KNIGHT:
+                return BoardUtils.KNIGHT_ATTACKS[square];
+            case BISHOP:
+                return MagicBitBoards.bishopAttacks(square, occupancy);
+            case ROOK:
+                return MagicBitBoards.rookAttacks(square, occupancy);
+            case QUEEN:
+                return MagicBitBoards.queenAttacks(square, occupancy);
+            case KING:
+                return BoardUtils.KING_ATTACKS[square];
+            default:
+                throw new IllegalArgumentException("No attack table for piece type " + pieceType);
+        }
+    }
+
+    boolean isSquareAttacked(final int square, final Alliance attacker, final long occupancy) {
+        final int base = attacker.ordinal() * 6;
+        final long queens = this.pieceBitBoards[base + QUEEN];
+        return (BoardUtils.PAWN_ATTACKS[attacker.getOpposite().ordinal()][square] & this.pieceBitBoards[base + PAWN]) != 0
+                || (BoardUtils.KNIGHT_ATTACKS[square] & this.pieceBitBoards[base + KNIGHT]) != 0
+                || (BoardUtils.KING_ATTACKS[square] & this.pieceBitBoards[base + KING]) != 0
+                || (MagicBitBoards.rookAttacks(square, occupancy) & (this.pieceBitBoards[base + ROOK] | queens)) != 0
+                || (MagicBitBoards.bishopAttacks(square, occupancy) & (this.pieceBitBoards[base + BISHOP] | queens)) != 0;
+    }
+
+    /**
+     * Mask of the attacker's pieces that attack the tile, with sliders seeing through the given occupancy.
+     */
+    long attackersOf(final int square, final Alliance attacker, final long occupancy) {
+        final int base = attacker.ordinal() * 6;
+        final long queens = this.pieceBitBoards[base + QUEEN];
+        return (BoardUtils.PAWN_ATTACKS[attacker.getOpposite().ordinal()][square] & this.pieceBitBoards[base + PAWN])
+                | (BoardUtils.KNIGHT_ATTACKS[square] & this.pieceBitBoards[base + KNIGHT])
+                | (BoardUtils.KING_ATTACKS[square] & this.pieceBitBoards[base + KING])
+                | (MagicBitBoards.rookAttacks(square, occupancy) & (this.pieceBitBoards[base + ROOK] | queens))
+                | (MagicBitBoards.bishopAttacks(square, occupancy) & (this.pieceBitBoards[base + BISHOP] | queens));
+    }
+
+    public int getKingSquare(final Alliance alliance) {
+        return Long.numberOfTrailingZeros(this.pieceBitBoards[alliance.ordinal() * 6 + KING]);
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public boolean hasCastlingRight(final int castlingRight) {
+        return (this.castlingRights & castlingRight) != 0;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+}
@@ -2,21 +2,25 @@ package com.chess.engine.board;
 
 
 import com.chess.engine.Alliance;
+import com.chess.engine.jfr.BoardConstructionEvent;
+import com.chess.engine.jfr.EngineEvents;
 
 import com.chess.engine.pieces.*;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
 
 import java.util.*;
 
 public class Board {
 
-    private final List<Tile> gameBoard;
-    private final Collection<Piece> whitePieces;
-    private final Collection<Piece> blackPieces;
+    private final Piece[] boardConfig;
+    private final Tile[] gameBoard;
+    private final BitBoard bitBoard;
+    private Collection<Piece> whitePieces;
+    private Collection<Piece> blackPieces;
 
     private final WhitePlayer whitePlayer;
     private final BlackPlayer blackPlayer;
@@ -25,26 +29,40 @@ public class Board {
     private final Pawn enPassantPawn;
 
     private Board(Builder builder) {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
+        this.boardConfig = builder.boardConfig;
+        this.gameBoard = new Tile[64];
+        this.bitBoard = builder.bitBoard;
 
         this.enPassantPawn = builder.enPassantPawn;
 
-        final Collection<Move> whiteStandardLegalMoves = calculatePiecesLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculatePiecesLegalMoves(this.blackPieces);
-
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+        // players work out their moves, check and castling on first use
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(whitePlayer, this.blackPlayer);
 
     }
 
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Board)) {
+            return false;
+        }
+        return this.bitBoard.samePosition(((Board) other).bitBoard);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.bitBoard.getZobristKey());
+    }
+
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
         for (int i = 0; i < 64; i++) {
-            final String tileText = this.gameBoard.get(i).toString();
+            final String tileText = getTile(i).toString();
             builder.append(String.format("%3s", tileText));
             if ((i + 1) % 8 == 0) {
                 builder.append("\n");
@@ -66,45 +84,49 @@ public class Board {
     }
 
     public Collection<Piece> getBlackPieces() {
+        if (this.blackPieces == null) {
+            this.blackPieces = calculateActivePieces(this.boardConfig, this.bitBoard.getPieces(Alliance.BLACK));
+        }
         return this.blackPieces;
     }
 
     public Collection<Piece> getWhitePieces() {
+        if (this.whitePieces == null) {
+            this.whitePieces = calculateActivePieces(this.boardConfig, this.bitBoard.getPieces(Alliance.WHITE));
+        }
         return this.whitePieces;
     }
 
-    private Collection<Move> calculatePiecesLegalMoves(final Collection<Piece> pieces) {
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (Piece piece : pieces) {
-            legalMoves.addAll(piece.calculateLegalMoves(this));
+    private static Collection<Piece> calculateActivePieces(final Piece[] boardConfig, final long allianceBitBoard) {
+        final List<Piece> activePieces = new ArrayList<>(Long.bitCount(allianceBitBoard));
+        long pieces = allianceBitBoard;
+        while (pieces != 0) {
+            activePieces.add(boardConfig[Long.numberOfTrailingZeros(pieces)]);
+            pieces &= pieces - 1;
         }
-        return ImmutableList.copyOf(legalMoves);
+        return ImmutableList.copyOf(activePieces);
     }
 
-    private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
-        final List<Piece> activePieces = new ArrayList<>();
-        for (Tile tile : gameBoard) {
-            if (tile.isTileOccupied()) {
-                final Piece piece = tile.getPiece();
-                if (piece.getPieceAlliance() == alliance) {
-                    activePieces.add(piece);
-                }
-            }
+    public Tile getTile(final int tileCoordinate) {
+        Tile tile = this.gameBoard[tileCoordinate];
+        if (tile == null) {
+            // tiles are immutable, so a racing thread at worst builds an equal one
+            tile = Tile.createTile(tileCoordinate, this.boardConfig[tileCoordinate]);
+            this.gameBoard[tileCoordinate] = tile;
         }
-        return ImmutableList.copyOf(activePieces);
+        return tile;
     }
 
-    private static List<Tile> createGameBoard(Builder builder) {
-        final Tile[] tiles = new Tile[64];
-        for (int i = 0; i < 64; i++) {
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
-        }
-        return ImmutableList.copyOf(tiles);
+    public Piece getPiece(final int tileCoordinate) {
+        return this.boardConfig[tileCoordinate];
     }
 
-    public Tile getTile(final int tileCoordinate) {
-        return gameBoard.get(tileCoordinate);
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
+    public long getZobristKey() {
+        return this.bitBoard.getZobristKey();
     }
 
     public static Board createStandardBoard() {
@@ -138,42 +160,102 @@ public class Board {
         return builder.build();
     }
 
-    Iterable<Move> getAllLegalMoves() {
-        return Iterables.unmodifiableIterable(Iterables.concat(
-                this.whitePlayer.getLegalMoves(),
-                this.blackPlayer.getLegalMoves()
-        ));
-    }
-
     public Pawn getEnPassantPawn() {
         return enPassantPawn;
     }
 
     public static class Builder {
-        Map<Integer, Piece> boardConfig;
+        final Piece[] boardConfig;
+        final BitBoard bitBoard;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
 
-        Builder() {
-            this.boardConfig = new HashMap<>();
+        public Builder() {
+            this.boardConfig = new Piece[64];
+            this.bitBoard = new BitBoard();
+        }
+
+        /**
+         * Starts from an existing position, so a move only has to apply its changes.
+         * The en passant pawn is not carried over.
+         */
+        Builder(final Board board) {
+            this.boardConfig = board.boardConfig.clone();
+            this.bitBoard = new BitBoard(board.bitBoard);
+            this.nextMoveMaker = board.bitBoard.getSideToMove();
         }
 
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            final int piecePosition = piece.getPiecePosition();
+            this.bitBoard.removePiece(piecePosition);
+            this.bitBoard.putPiece(BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()), piecePosition);
+            this.boardConfig[piecePosition] = piece;
             return this;
         }
 
-        void setMoveMaker(final Alliance nextMoveMaker) {
+        Builder removePiece(final Piece piece) {
+            final int piecePosition = piece.getPiecePosition();
+            this.bitBoard.removePiece(piecePosition);
+            this.boardConfig[piecePosition] = null;
+            return this;
+        }
+
+        public void setMoveMaker(final Alliance nextMoveMaker) {
             this.nextMoveMaker = nextMoveMaker;
         }
 
-        Board build() {
-            return new Board(this);
+        public Board build() {
+            this.bitBoard.setSideToMove(this.nextMoveMaker);
+            this.bitBoard.setCastlingRights(calculateCastlingRights());
+            this.bitBoard.setEnPassantSquare(this.enPassantPawn == null ? BitBoard.NO_SQUARE :
+                    this.enPassantPawn.getPiecePosition() - 8 * this.enPassantPawn.getPieceAlliance().getDirection());
+            if (!EngineEvents.ENABLED) {
+                return new Board(this);
+            }
+            final BoardConstructionEvent event = new BoardConstructionEvent();
+            event.begin();
+            final Board board = new Board(this);
+            if (event.shouldCommit()) {
+                for (final Piece piece : this.boardConfig) {
+                    if (piece != null) {
+                        event.pieces++;
+                    }
+                }
+                event.commit();
+            }
+            return board;
         }
 
-        void setEnPassantPawn(Pawn enPassantPawn) {
+        public void setEnPassantPawn(Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
         }
+
+        private int calculateCastlingRights() {
+            int castlingRights = 0;
+            if (isUnmoved(60, Alliance.WHITE, PieceType.KING)) {
+                if (isUnmoved(63, Alliance.WHITE, PieceType.ROOK)) {
+                    castlingRights |= BitBoard.WHITE_KING_SIDE;
+                }
+                if (isUnmoved(56, Alliance.WHITE, PieceType.ROOK)) {
+                    castlingRights |= BitBoard.WHITE_QUEEN_SIDE;
+                }
+            }
+            if (isUnmoved(4, Alliance.BLACK, PieceType.KING)) {
+                if (isUnmoved(7, Alliance.BLACK, PieceType.ROOK)) {
+                    castlingRights |= BitBoard.BLACK_KING_SIDE;
+                }
+                if (isUnmoved(0, Alliance.BLACK, PieceType.ROOK)) {
+                    castlingRights |= BitBoard.BLACK_QUEEN_SIDE;
+                }
+            }
+            return castlingRights;
+        }
+
+        private boolean isUnmoved(final int coordinate, final Alliance alliance, final PieceType pieceType) {
+            final Piece piece = this.boardConfig[coordinate];
+            return piece != null && !piece.isMoved()
+                    && piece.getPieceAlliance() == alliance && piece.getPieceType() == pieceType;
+        }
     }
 
 }
@@ -6,6 +6,56 @@ import java.util.Map;
 public class BoardUtils {
     private static final Map<String, Integer> POSITION_TO_COORDINATE = initializePositionToCoordinateMap();
 
+    public static final long[] KNIGHT_ATTACKS = initializeLeaperAttacks(new int[][]{
+            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+    public static final long[] KING_ATTACKS = initializeLeaperAttacks(new int[][]{
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    // indexed by Alliance ordinal: white pawns capture towards row 0, black pawns towards row 7
+    public static final long[][] PAWN_ATTACKS = {
+            initializeLeaperAttacks(new int[][]{{-1, -1}, {-1, 1}}),
+            initializeLeaperAttacks(new int[][]{{1, -1}, {1, 1}})
+    };
+
+    // tiles strictly between two tiles on a common rank, file or diagonal; 0 if they share no line
+    public static final long[][] SQUARES_BETWEEN = initializeSquaresBetween();
+
+    private static long[] initializeLeaperAttacks(final int[][] offsets) {
+        final long[] attacks = new long[64];
+        for (int square = 0; square < 64; square++) {
+            for (final int[] offset : offsets) {
+                final int row = square / 8 + offset[0];
+                final int col = square % 8 + offset[1];
+                if (row >= 0 && row < 8 && col >= 0 && col < 8) {
+                    attacks[square] |= 1L << (row * 8 + col);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    private static long[][] initializeSquaresBetween() {
+        final long[][] between = new long[64][64];
+        for (int square = 0; square < 64; square++) {
+            for (int rowStep = -1; rowStep <= 1; rowStep++) {
+                for (int colStep = -1; colStep <= 1; colStep++) {
+                    if (rowStep == 0 && colStep == 0) {
+                        continue;
+                    }
+                    long ray = 0;
+                    int row = square / 8 + rowStep;
+                    int col = square % 8 + colStep;
+                    while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+                        between[square][row * 8 + col] = ray;
+                        ray |= 1L << (row * 8 + col);
+                        row += rowStep;
+                        col += colStep;
+                    }
+                }
+            }
+        }
+        return between;
+    }
+
     private static Map<String, Integer> initializePositionToCoordinateMap() {
         final Map<String, Integer> positionToCoordinate = new HashMap<>();
         for (int i = 0; i < 64; i++) {
@@ -0,0 +1,128 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+
+public final class LegalMoveFilter {
+    /**
+     * Checkers and pins against one side's king, worked out once per position so
+     * that a pseudo-legal move can be tested for legality without playing it:
+     * with one checker a move must capture or block it, with two only the king may move,
+     * and a pinned piece may only move along the line between its king and the pinner.
+     */
+
+    private static final long ALL_SQUARES = ~0L;
+
+    private final BitBoard bitBoard;
+    private final long[] pinRays;
+    private Alliance alliance;
+    private int kingSquare;
+    private long checkers;
+    private long evasionMask;
+    private long pinned;
+
+    public LegalMoveFilter(final BitBoard bitBoard, final Alliance alliance) {
+        this.bitBoard = bitBoard;
+        this.pinRays = new long[64];
+        update(alliance);
+    }
+
+    void update(final Alliance alliance) {
+        this.alliance = alliance;
+        this.kingSquare = this.bitBoard.getKingSquare(alliance);
+        final Alliance opponent = alliance.getOpposite();
+        final long own = this.bitBoard.getPieces(alliance);
+        final long enemy = this.bitBoard.getPieces(opponent);
+        final long occupancy = own | enemy;
+
+        this.checkers = this.bitBoard.attackersOf(this.kingSquare, opponent, occupancy);
+        if (this.checkers == 0) {
+            this.evasionMask = ALL_SQUARES;
+        } else if ((this.checkers & this.checkers - 1) == 0) {
+            this.evasionMask = this.checkers
+                    | BoardUtils.SQUARES_BETWEEN[this.kingSquare][Long.numberOfTrailingZeros(this.checkers)];
+        } else {
+            this.evasionMask = 0;
+        }
+
+        // enemy sliders that would attack the king if only enemy pieces blocked their way
+        final int base = opponent.ordinal() * 6;
+        final long queens = this.bitBoard.pieceBitBoards[base + BitBoard.QUEEN];
+        long snipers = MagicBitBoards.rookAttacks(this.kingSquare, enemy)
+                & (this.bitBoard.pieceBitBoards[base + BitBoard.ROOK] | queens)
+                | MagicBitBoards.bishopAttacks(this.kingSquare, enemy)
+                & (this.bitBoard.pieceBitBoards[base + BitBoard.BISHOP] | queens);
+        this.pinned = 0;
+        while (snipers != 0) {
+            final int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            final long between = BoardUtils.SQUARES_BETWEEN[this.kingSquare][sniper];
+            final long blockers = between & occupancy;
+            if (blockers != 0 && (blockers & blockers - 1) == 0) {
+                this.pinned |= blockers;
+                this.pinRays[Long.numberOfTrailingZeros(blockers)] = between | 1L << sniper;
+            }
+        }
+    }
+
+    public boolean isInCheck() {
+        return this.checkers != 0;
+    }
+
+    public long getCheckers() {
+        return this.checkers;
+    }
+
+    boolean isDoubleCheck() {
+        return (this.checkers & this.checkers - 1) != 0;
+    }
+
+    /**
+     * Tiles a non-king piece standing on the tile may legally move to, ignoring en passant.
+     */
+    long getTargetMask(final int square) {
+        return (this.pinned & 1L << square) == 0 ? this.evasionMask : this.evasionMask & this.pinRays[square];
+    }
+
+    boolean isKingMoveSafe(final int destination) {
+        // the king must not shield the tile behind it from a slider it is stepping away from
+        return !this.bitBoard.isSquareAttacked(destination, this.alliance.getOpposite(),
+                this.bitBoard.getOccupancy() & ~(1L << this.kingSquare));
+    }
+
+    boolean isEnPassantLegal(final int from, final int destination) {
+        // both pawns leave the capturing rank at once, which can uncover a slider; easiest to just look
+        final int capturedSquare = destination - 8 * this.alliance.getDirection();
+        final long occupancy = this.bitBoard.getOccupancy() ^ 1L << from ^ 1L << destination ^ 1L << capturedSquare;
+        return (this.bitBoard.attackersOf(this.kingSquare, this.alliance.getOpposite(), occupancy)
+                & ~(1L << capturedSquare)) == 0;
+    }
+
+    boolean isCastleLegal(final int from, final int destination) {
+        final Alliance opponent = this.alliance.getOpposite();
+        return !isInCheck()
+                && !this.bitBoard.isSquareAttacked((from + destination) / 2, opponent)
+                && !this.bitBoard.isSquareAttacked(destination, opponent);
+    }
+
+    public boolean isLegal(final int from, final int destination, final int flags) {
+        switch (flags) {
+            case PackedMove.EN_PASSANT:
+                return isEnPassantLegal(from, destination);
+            case PackedMove.KING_SIDE_CASTLE:
+            case PackedMove.QUEEN_SIDE_CASTLE:
+                return isCastleLegal(from, destination);
+            default:
+                return from == this.kingSquare ?
+                        isKingMoveSafe(destination) : (getTargetMask(from) & 1L << destination) != 0;
+        }
+    }
+
+    /**
+     * Whether a pseudo-legal move of this filter's alliance keeps its king out of check.
+     */
+    public boolean isLegal(final Move move) {
+        return isLegal(move.getCurrentCoordinate(), move.getDestinationCoordinate(),
+                PackedMove.getFlags(PackedMove.fromMove(move)));
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.chess.engine.board;
+
+public final class MagicBitBoards {
+    /**
+     * Occupancy-indexed attack tables for the sliding pieces.
+     * The relevant blockers of a square are multiplied by a magic number so that
+     * the top bits of the product form a perfect index into that square's table.
+     * The magics below were found by trial with random sparse candidates;
+     * the tables themselves are filled once at class load.
+     */
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    private static final long[] ROOK_MAGICS = {
+            0x40800490C0022580L, 0x024001423000200AL, 0x0080100080200008L, 0x2500201001040900L,
+            0x1280080080222400L, 0x0500080400010002L, 0x1480408001002200L, 0x02000C0902804226L,
+            0x8010800080400020L, 0x2040404000201000L, 0x4000808010002000L, 0x0010801000080080L,
+            0x0002000806002010L, 0x0006000A00301408L, 0x2004800200800100L, 0x0040800100004080L,
+            0x8340808000400023L, 0x8820808020004014L, 0x1017220014804204L, 0x0008120022000841L,
+            0x0001010008001004L, 0x0004004002004100L, 0x0000040081020810L, 0x0048020000443081L,
+            0x4008400080003882L, 0x0180200040401000L, 0x1420088080201000L, 0x0000080080801000L,
+            0x0020040080080081L, 0x0402000200100804L, 0x0200880400900201L, 0x80040482002C06C9L,
+            0x0400400024800080L, 0x0000802000804000L, 0x0020008020801000L, 0x0000C2018A001020L,
+            0x405200200A000410L, 0x0410800400800201L, 0x0000900204000108L, 0x1000204712000884L,
+            0x0A20208040048010L, 0x8000804001010021L, 0x4041042000110042L, 0x0000100008008080L,
+            0x0040080005010010L, 0x6022040002008080L, 0x0010214802040010L, 0x400841448C0A0001L,
+            0x08020020884F0200L, 0x0000400080200180L, 0x0201002000441100L, 0x0010008010080080L,
+            0x8108800800040080L, 0x0400040002008080L, 0x0801021008010400L, 0x0060011044008200L,
+            0x0801104024830602L, 0x0102204201110982L, 0x1804100B00412003L, 0x0492050010000821L,
+            0x000201A008100402L, 0x0002000804D00102L, 0x8050089001481204L, 0x0210040080264902L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x0021012A02040021L, 0x2210300108408004L, 0x0004080089000C05L, 0x0104410021200044L,
+            0x0004042002880240L, 0x1400880440214808L, 0x40A8820150400802L, 0x008C210110012008L,
+            0x2104051002020408L, 0x20000210024A1043L, 0x5000084800508000L, 0x1808280481001008L,
+            0x0010220210800020L, 0x0407860290240000L, 0x20B3004402084008L, 0x0005808201100242L,
+            0x0040001002081140L, 0x0208202102040043L, 0x1202001004101020L, 0x0044400824010000L,
+            0x0C02008C00A20008L, 0x080E020088040220L, 0x0040400094100840L, 0x020481C300481200L,
+            0x4044408204910401L, 0x06106400080D0400L, 0x6008040008083020L, 0x3A3A008018028002L,
+            0x0804082004002000L, 0x0002002202009008L, 0x4080CA0111091020L, 0x0001B50022014204L,
+            0x6008201080C40440L, 0x8814640240041000L, 0x0004004800040029L, 0x0000400A00002200L,
+            0xA940010040160802L, 0x4000880680151000L, 0x0004043C00008080L, 0x0404010020020088L,
+            0x40009C100A10401AL, 0x00B200C248022000L, 0x140205004800A101L, 0x6002608A44000800L,
+            0x4460200208888400L, 0x84600220460295C1L, 0xA802040102100400L, 0x001000C111003044L,
+            0x004401041004C00CL, 0x000424010430C002L, 0x0028010041100248L, 0x08040050842410C0L,
+            0x0200820405040900L, 0x0010400808A52000L, 0x29A0200A24911C80L, 0x0084880800608008L,
+            0x0888420201204218L, 0x0001822138021000L, 0x0200010602110400L, 0x000C004086C20610L,
+            0x2280C40011020200L, 0x000020C008020420L, 0x4100602002088900L, 0x0422880D04018204L
+    };
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final long[][] ROOK_ATTACKS = new long[64][];
+
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final long[][] BISHOP_ATTACKS = new long[64][];
+
+    static {
+        initializeTables(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_ATTACKS);
+        initializeTables(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_ATTACKS);
+    }
+
+    private MagicBitBoards() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static long rookAttacks(final int square, final long occupancy) {
+        return ROOK_ATTACKS[square][(int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    public static long bishopAttacks(final int square, final long occupancy) {
+        return BISHOP_ATTACKS[square][(int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    public static long queenAttacks(final int square, final long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    private static void initializeTables(final int[][] directions,
+                                         final long[] masks,
+                                         final long[] magics,
+                                         final int[] shifts,
+                                         final long[][] attacks) {
+        for (int square = 0; square < 64; square++) {
+            final long mask = relevantOccupancyMask(square, directions);
+            final int bits = Long.bitCount(mask);
+            masks[square] = mask;
+            shifts[square] = 64 - bits;
+            attacks[square] = new long[1 << bits];
+
+            // walk every blocker subset of the mask (carry-rippler) and file its attack set
+            long subset = 0;
+            do {
+                final int index = (int) ((subset * magics[square]) >>> shifts[square]);
+                final long subsetAttacks = slidingAttacks(square, subset, directions);
+                if (attacks[square][index] != 0 && attacks[square][index] != subsetAttacks) {
+                    throw new IllegalStateException("Magic collision on tile " + square);
+                }
+                attacks[square][index] = subsetAttacks;
+                subset = (subset - mask) & mask;
+            } while (subset != 0);
+        }
+    }
+
+    private static long relevantOccupancyMask(final int square, final int[][] directions) {
+        // a blocker on the last tile of a ray never changes the attack set
+        long mask = 0;
+        for (final int[] direction : directions) {
+            int row = square / 8 + direction[0];
+            int col = square % 8 + direction[1];
+            while (isOnBoard(row + direction[0], col + direction[1])) {
+                mask |= 1L << (row * 8 + col);
+                row += direction[0];
+                col += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slidingAttacks(final int square, final long occupancy, final int[][] directions) {
+        long attacks = 0;
+        for (final int[] direction : directions) {
+            int row = square / 8 + direction[0];
+            int col = square % 8 + direction[1];
+            while (isOnBoard(row, col)) {
+                final long bit = 1L << (row * 8 + col);
+                attacks |= bit;
+                if ((occupancy & bit) != 0) {
+                    break;
+                }
+                row += direction[0];
+                col += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int row, final int col) {
+        return row >= 0 && row < 8 && col >= 0 && col < 8;
+    }
+
+}
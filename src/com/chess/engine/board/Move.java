@@ -62,19 +62,10 @@ public abstract class Move {
     }
 
     public Board execute() {
-        final Builder builder = new Builder();
-
-        for (Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-            if (!this.movedPiece.equals(piece)) {
-                builder.setPiece(piece);
-            } else {
-                builder.setPiece(piece.movePiece(this));
-            }
-        }
-
-        for (Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-            builder.setPiece(piece);
-        }
+        // a piece on the destination tile is replaced, and hashed out, by setPiece
+        final Builder builder = new Builder(this.board);
+        builder.removePiece(this.movedPiece);
+        builder.setPiece(this.movedPiece.movePiece(this));
         builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
 
         return builder.build();
@@ -115,16 +106,8 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            Builder builder = new Builder();
-            for (Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if (!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            for (Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
+            builder.removePiece(this.movedPiece);
 
             final Pawn movedPawn = (Pawn) this.movedPiece.movePiece(this);
             builder.setPiece(movedPawn);
@@ -144,32 +127,46 @@ public abstract class Move {
 
         final Move decoratedMove;
         final Pawn promotedPawn;
+        final Piece.PieceType promotionType;
 
         public PawnPromotion(final Move decoratedMove) {
+            this(decoratedMove, Piece.PieceType.QUEEN);
+        }
+
+        public PawnPromotion(final Move decoratedMove, final Piece.PieceType promotionType) {
             super(decoratedMove.board, decoratedMove.movedPiece, decoratedMove.destinationCoordinate);
             this.decoratedMove= decoratedMove;
             this.promotedPawn = (Pawn) decoratedMove.getMovedPiece();
+            this.promotionType = promotionType;
+        }
+
+        public Piece.PieceType getPromotionType() {
+            return this.promotionType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return super.equals(other)
+                    && other instanceof PawnPromotion
+                    && this.promotionType == ((PawnPromotion) other).promotionType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + this.promotionType.hashCode();
         }
 
         @Override
         public String toString() {
-            return decoratedMove.toString();
+            return decoratedMove.toString() + "=" + this.promotionType;
         }
 
         @Override
         public Board execute() {
-            final Board pawnMovedBoard = this.decoratedMove.execute();
-            final Builder builder = new Builder();
-            for (final Piece piece : pawnMovedBoard.getCurrentPlayer().getActivePieces()) {
-                if (!this.promotedPawn.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for (final Piece piece : pawnMovedBoard.getCurrentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
-            builder.setMoveMaker(pawnMovedBoard.getCurrentPlayer().getAlliance());
+            final Builder builder = new Builder(this.board);
+            builder.removePiece(this.promotedPawn);
+            builder.setPiece(this.promotedPawn.getPromotionPiece(this.promotionType).movePiece(this));
+            builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
             return builder.build();
         }
 
@@ -201,15 +198,9 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            Builder builder = new Builder();
-            for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if (!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
+            builder.removePiece(this.movedPiece);
+            builder.removePiece(this.castleRook);
             builder.setPiece(this.movedPiece.movePiece(this));  // King
             builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceAlliance(), true));
             builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
@@ -273,18 +264,9 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-
-            for (Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if (!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for (Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                if (!this.attackedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
+            final Builder builder = new Builder(this.board);
+            builder.removePiece(this.attackedPiece);
+            builder.removePiece(this.movedPiece);
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
 
@@ -339,20 +321,9 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-
-            for (Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if (!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            for (Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                if (this.attackedPiece.equals(piece)) {
-                    continue;
-                }
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
+            builder.removePiece(this.attackedPiece);
+            builder.removePiece(this.movedPiece);
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
 
@@ -382,14 +353,24 @@ public abstract class Move {
         }
 
         public static Move createMove(Board board, int currentCoordinate, int destinationCoordinate) {
-            for (Move move : board.getAllLegalMoves()) {
-                /*System.out.println(String.valueOf(currentCoordinate) + " => " + String.valueOf(destinationCoordinate));*/
-                if (move.getCurrentCoordinate() == currentCoordinate
-                        && move.getDestinationCoordinate() == destinationCoordinate) {
-                    return move;
-                }
+            return createMove(board, currentCoordinate, destinationCoordinate, Piece.PieceType.QUEEN);
+        }
+
+        public static Move createMove(Board board,
+                                      int currentCoordinate,
+                                      int destinationCoordinate,
+                                      Piece.PieceType promotionType) {
+            Move move = board.getCurrentPlayer().getLegalMove(currentCoordinate, destinationCoordinate, promotionType);
+            if (move == null) {
+                move = board.getCurrentPlayer().getOpponent().getLegalMove(currentCoordinate, destinationCoordinate, promotionType);
             }
-            return new NullMove();
+            return move != null ? move : new NullMove();
+        }
+
+        public static Move createMove(Board board, int packedMove) {
+            final int promotion = PackedMove.getPromotion(packedMove);
+            return createMove(board, PackedMove.getFrom(packedMove), PackedMove.getTo(packedMove),
+                    promotion == PackedMove.NO_PROMOTION ? Piece.PieceType.QUEEN : BitBoard.PIECE_TYPES[promotion]);
         }
     }
 }
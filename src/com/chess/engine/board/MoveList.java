@@ -0,0 +1,53 @@
+package com.chess.engine.board;
+
+public final class MoveList {
+    /**
+     * Growable-free list of packed moves. The search keeps one per ply and
+     * clears it for every node instead of allocating a new list.
+     */
+
+    public static final int MAX_MOVES = 256;
+
+    private final int[] moves;
+    private int size;
+
+    public MoveList() {
+        this.moves = new int[MAX_MOVES];
+        this.size = 0;
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    public void add(final int move) {
+        this.moves[this.size++] = move;
+    }
+
+    public int get(final int index) {
+        return this.moves[index];
+    }
+
+    void set(final int index, final int move) {
+        this.moves[index] = move;
+    }
+
+    public void swap(final int first, final int second) {
+        final int move = this.moves[first];
+        this.moves[first] = this.moves[second];
+        this.moves[second] = move;
+    }
+
+    void truncate(final int size) {
+        this.size = size;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+}
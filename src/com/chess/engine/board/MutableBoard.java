@@ -0,0 +1,315 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Piece;
+
+import java.util.Arrays;
+
+public final class MutableBoard extends BitBoard {
+    /**
+     * Position for the search: moves are applied in place with makeMove and taken
+     * back with unmakeMove, so a search allocates nothing per node.
+     * The immutable Board remains the representation used by the GUI and the players.
+     * Moves are PackedMove ints.
+     */
+
+    public static final int MAX_PLY = 256;
+
+    // castling rights that survive a move from or to each tile
+    private static final int[] CASTLING_RIGHTS_MASK = initializeCastlingRightsMask();
+
+    private int castled;
+    private int ply;
+    private final int[] castlingRightsStack;
+    private final int[] enPassantSquareStack;
+    private final int[] castledStack;
+    private final long[] zobristKeyStack;
+    private final MoveList scratchMoves;
+    private final LegalMoveFilter legalMoveFilter;
+
+    public MutableBoard(final Board board) {
+        super(board.getBitBoard());
+        this.castled = 0;
+        for (final Alliance alliance : Alliance.values()) {
+            final Piece king = board.getPiece(getKingSquare(alliance));
+            if (((King) king).isCastled) {
+                this.castled |= 1 << alliance.ordinal();
+            }
+        }
+        this.ply = 0;
+        this.castlingRightsStack = new int[MAX_PLY];
+        this.enPassantSquareStack = new int[MAX_PLY];
+        this.castledStack = new int[MAX_PLY];
+        this.zobristKeyStack = new long[MAX_PLY];
+        this.scratchMoves = new MoveList();
+        this.legalMoveFilter = new LegalMoveFilter(this, this.sideToMove);
+    }
+
+    /**
+     * Copy of the other board's current position, without its move history, e.g. for another search thread.
+     */
+    public MutableBoard(final MutableBoard other) {
+        super(other);
+        this.castled = other.castled;
+        this.ply = 0;
+        this.castlingRightsStack = new int[MAX_PLY];
+        this.enPassantSquareStack = new int[MAX_PLY];
+        this.castledStack = new int[MAX_PLY];
+        this.zobristKeyStack = new long[MAX_PLY];
+        this.scratchMoves = new MoveList();
+        this.legalMoveFilter = new LegalMoveFilter(this, this.sideToMove);
+    }
+
+    private static int[] initializeCastlingRightsMask() {
+        final int[] mask = new int[64];
+        Arrays.fill(mask, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        mask[63] &= ~WHITE_KING_SIDE;
+        mask[56] &= ~WHITE_QUEEN_SIDE;
+        mask[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[7] &= ~BLACK_KING_SIDE;
+        mask[0] &= ~BLACK_QUEEN_SIDE;
+        return mask;
+    }
+
+    public void makeMove(final int move) {
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+        final int promotion = PackedMove.getPromotion(move);
+        final int flags = PackedMove.getFlags(move);
+        final Alliance side = this.sideToMove;
+
+        this.castlingRightsStack[this.ply] = this.castlingRights;
+        this.enPassantSquareStack[this.ply] = this.enPassantSquare;
+        this.castledStack[this.ply] = this.castled;
+        this.zobristKeyStack[this.ply] = this.zobristKey;
+        this.ply++;
+
+        if (flags == PackedMove.EN_PASSANT) {
+            removePiece(to - 8 * side.getDirection());
+        } else if (PackedMove.isCapture(move)) {
+            removePiece(to);
+        }
+        removePiece(from);
+        putPiece(promotion != PackedMove.NO_PROMOTION ? pieceIndex(side, PIECE_TYPES[promotion]) : PackedMove.getPiece(move), to);
+
+        if (flags == PackedMove.KING_SIDE_CASTLE) {
+            putPiece(removePiece(to + 1), to - 1);
+            this.castled |= 1 << side.ordinal();
+        } else if (flags == PackedMove.QUEEN_SIDE_CASTLE) {
+            putPiece(removePiece(to - 2), to + 1);
+            this.castled |= 1 << side.ordinal();
+        }
+
+        setCastlingRights(this.castlingRights & CASTLING_RIGHTS_MASK[from] & CASTLING_RIGHTS_MASK[to]);
+        setEnPassantSquare(flags == PackedMove.DOUBLE_PAWN_PUSH ? (from + to) / 2 : NO_SQUARE);
+        setSideToMove(side.getOpposite());
+    }
+
+    public void unmakeMove(final int move) {
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+        final int flags = PackedMove.getFlags(move);
+        final Alliance side = this.sideToMove.getOpposite();
+
+        this.sideToMove = side;
+        this.ply--;
+
+        removePiece(to);
+        putPiece(PackedMove.getPiece(move), from);
+
+        if (PackedMove.isCapture(move)) {
+            putPiece(PackedMove.getCapturedPiece(move), flags == PackedMove.EN_PASSANT ? to - 8 * side.getDirection() : to);
+        }
+
+        if (flags == PackedMove.KING_SIDE_CASTLE) {
+            putPiece(removePiece(to - 1), to + 1);
+        } else if (flags == PackedMove.QUEEN_SIDE_CASTLE) {
+            putPiece(removePiece(to + 1), to - 2);
+        }
+
+        this.castlingRights = this.castlingRightsStack[this.ply];
+        this.enPassantSquare = this.enPassantSquareStack[this.ply];
+        this.castled = this.castledStack[this.ply];
+        this.zobristKey = this.zobristKeyStack[this.ply];
+    }
+
+    /**
+     * Passes the turn without moving, for null-move pruning. Never call it in check.
+     */
+    public void makeNullMove() {
+        this.castlingRightsStack[this.ply] = this.castlingRights;
+        this.enPassantSquareStack[this.ply] = this.enPassantSquare;
+        this.castledStack[this.ply] = this.castled;
+        this.zobristKeyStack[this.ply] = this.zobristKey;
+        this.ply++;
+
+        setEnPassantSquare(NO_SQUARE);
+        setSideToMove(this.sideToMove.getOpposite());
+    }
+
+    public void unmakeNullMove() {
+        this.sideToMove = this.sideToMove.getOpposite();
+        this.ply--;
+
+        this.enPassantSquare = this.enPassantSquareStack[this.ply];
+        this.zobristKey = this.zobristKeyStack[this.ply];
+    }
+
+    /**
+     * Whether the alliance has a piece other than pawns and its king; without one, zugzwang is common.
+     */
+    public boolean hasNonPawnMaterial(final Alliance alliance) {
+        final int base = alliance.ordinal() * 6;
+        return (this.pieceBitBoards[base + KNIGHT] | this.pieceBitBoards[base + BISHOP]
+                | this.pieceBitBoards[base + ROOK] | this.pieceBitBoards[base + QUEEN]) != 0;
+    }
+
+    public boolean isInCheck() {
+        return isSquareAttacked(getKingSquare(this.sideToMove), this.sideToMove.getOpposite());
+    }
+
+    public boolean isCastled(final Alliance alliance) {
+        return (this.castled & 1 << alliance.ordinal()) != 0;
+    }
+
+    /**
+     * Fills the list with the legal moves for the side to move, in piece order.
+     * Pins and checks are worked out first, so no move is played to test it.
+     */
+    public void generateMoves(final MoveList moves) {
+        generateMoves(moves, false);
+    }
+
+    /**
+     * Fills the list with the legal captures and queen promotions for the side to move, for quiescence search.
+     */
+    public void generateCaptures(final MoveList moves) {
+        generateMoves(moves, true);
+    }
+
+    private void generateMoves(final MoveList moves, final boolean capturesOnly) {
+        moves.clear();
+        final LegalMoveFilter filter = this.legalMoveFilter;
+        filter.update(this.sideToMove);
+        final Alliance side = this.sideToMove;
+        final int base = side.ordinal() * 6;
+        final long own = this.allianceBitBoards[side.ordinal()];
+        final long enemy = this.allianceBitBoards[side.getOpposite().ordinal()];
+        final long occupancy = own | enemy;
+        final long destinationMask = capturesOnly ? enemy : ~own;
+
+        if (!filter.isDoubleCheck()) {
+            final int pawn = base + PAWN;
+            long pawns = this.pieceBitBoards[pawn];
+            while (pawns != 0) {
+                final int square = Long.numberOfTrailingZeros(pawns);
+                pawns &= pawns - 1;
+                final long targets = filter.getTargetMask(square);
+                final int forward = square + 8 * side.getDirection();
+                if ((occupancy & 1L << forward) == 0) {
+                    if ((targets & 1L << forward) != 0 && (!capturesOnly || side.isPawnPromotionSquare(forward))) {
+                        addPawnMoves(moves, square, forward, side, EMPTY, capturesOnly);
+                    }
+                    final int jump = forward + 8 * side.getDirection();
+                    if (!capturesOnly && isPawnStartSquare(square, side)
+                            && (occupancy & 1L << jump) == 0 && (targets & 1L << jump) != 0) {
+                        moves.add(PackedMove.create(square, jump, pawn, EMPTY, PackedMove.NO_PROMOTION, PackedMove.DOUBLE_PAWN_PUSH));
+                    }
+                }
+                final long pawnAttacks = BoardUtils.PAWN_ATTACKS[side.ordinal()][square];
+                long captures = pawnAttacks & enemy & targets;
+                while (captures != 0) {
+                    final int to = Long.numberOfTrailingZeros(captures);
+                    captures &= captures - 1;
+                    addPawnMoves(moves, square, to, side, this.pieceIndices[to], capturesOnly);
+                }
+                if (this.enPassantSquare != NO_SQUARE && (pawnAttacks & 1L << this.enPassantSquare) != 0
+                        && filter.isEnPassantLegal(square, this.enPassantSquare)) {
+                    moves.add(PackedMove.create(square, this.enPassantSquare, pawn,
+                            pieceIndex(side.getOpposite(), Piece.PieceType.PAWN), PackedMove.NO_PROMOTION, PackedMove.EN_PASSANT));
+                }
+            }
+
+            for (int pieceType = KNIGHT; pieceType <= QUEEN; pieceType++) {
+                final int piece = base + pieceType;
+                long pieces = this.pieceBitBoards[piece];
+                while (pieces != 0) {
+                    final int square = Long.numberOfTrailingZeros(pieces);
+                    pieces &= pieces - 1;
+                    long destinations = attacksFrom(pieceType, side, square, occupancy) & destinationMask & filter.getTargetMask(square);
+                    while (destinations != 0) {
+                        final int to = Long.numberOfTrailingZeros(destinations);
+                        destinations &= destinations - 1;
+                        moves.add(PackedMove.create(square, to, piece, this.pieceIndices[to], PackedMove.NO_PROMOTION, PackedMove.QUIET));
+                    }
+                }
+            }
+        }
+
+        final int king = base + KING;
+        final int kingSquare = getKingSquare(side);
+        long destinations = BoardUtils.KING_ATTACKS[kingSquare] & destinationMask;
+        while (destinations != 0) {
+            final int to = Long.numberOfTrailingZeros(destinations);
+            destinations &= destinations - 1;
+            if (filter.isKingMoveSafe(to)) {
+                moves.add(PackedMove.create(kingSquare, to, king, this.pieceIndices[to], PackedMove.NO_PROMOTION, PackedMove.QUIET));
+            }
+        }
+
+        if (!capturesOnly && !filter.isInCheck()) {
+            generateCastles(moves, side, occupancy);
+        }
+    }
+
+    public boolean hasLegalMoves() {
+        generateMoves(this.scratchMoves);
+        return !this.scratchMoves.isEmpty();
+    }
+
+    private void generateCastles(final MoveList moves, final Alliance side, final long occupancy) {
+        final int kingSide = side.isWhite() ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        final int queenSide = side.isWhite() ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        if ((this.castlingRights & (kingSide | queenSide)) == 0) {
+            return;
+        }
+        final int kingSquare = side.isWhite() ? 60 : 4;
+        final Alliance opponent = side.getOpposite();
+        final int king = pieceIndex(side, Piece.PieceType.KING);
+        if ((this.castlingRights & kingSide) != 0
+                && (occupancy & (3L << (kingSquare + 1))) == 0
+                && !isSquareAttacked(kingSquare + 1, opponent)
+                && !isSquareAttacked(kingSquare + 2, opponent)) {
+            moves.add(PackedMove.create(kingSquare, kingSquare + 2, king, EMPTY, PackedMove.NO_PROMOTION, PackedMove.KING_SIDE_CASTLE));
+        }
+        if ((this.castlingRights & queenSide) != 0
+                && (occupancy & (7L << (kingSquare - 3))) == 0
+                && !isSquareAttacked(kingSquare - 1, opponent)
+                && !isSquareAttacked(kingSquare - 2, opponent)) {
+            moves.add(PackedMove.create(kingSquare, kingSquare - 2, king, EMPTY, PackedMove.NO_PROMOTION, PackedMove.QUEEN_SIDE_CASTLE));
+        }
+    }
+
+    private static void addPawnMoves(final MoveList moves,
+                                     final int from,
+                                     final int to,
+                                     final Alliance side,
+                                     final int capturedPiece,
+                                     final boolean queenOnly) {
+        final int pawn = pieceIndex(side, Piece.PieceType.PAWN);
+        if (side.isPawnPromotionSquare(to)) {
+            for (int promotion = QUEEN; promotion >= (queenOnly ? QUEEN : KNIGHT); promotion--) {
+                moves.add(PackedMove.create(from, to, pawn, capturedPiece, promotion, PackedMove.QUIET));
+            }
+        } else {
+            moves.add(PackedMove.create(from, to, pawn, capturedPiece, PackedMove.NO_PROMOTION, PackedMove.QUIET));
+        }
+    }
+
+    private static boolean isPawnStartSquare(final int square, final Alliance side) {
+        return side.isWhite() ? square / 8 == 6 : square / 8 == 1;
+    }
+
+}
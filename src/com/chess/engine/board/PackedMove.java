@@ -0,0 +1,113 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece;
+
+public final class PackedMove {
+    /**
+     * A move packed into an int, for the search:
+     *
+     * bits  0-5   from tile
+     * bits  6-11  to tile
+     * bits 12-15  moved piece index (see BitBoard.pieceIndex)
+     * bits 16-19  captured piece index, 15 if nothing is captured
+     * bits 20-22  promotion piece type ordinal, 0 if not a promotion
+     * bits 23-25  flags
+     *
+     * Moves cross into and out of this form only at the Board / Move API boundary.
+     */
+
+    public static final int NO_MOVE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int KING_SIDE_CASTLE = 3;
+    public static final int QUEEN_SIDE_CASTLE = 4;
+
+    public static final int NO_PROMOTION = 0;
+    private static final int NO_CAPTURE = 15;
+
+    private PackedMove() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static int create(final int from,
+                             final int to,
+                             final int piece,
+                             final int capturedPiece,
+                             final int promotion,
+                             final int flags) {
+        return from
+                | to << 6
+                | piece << 12
+                | (capturedPiece == BitBoard.EMPTY ? NO_CAPTURE : capturedPiece) << 16
+                | promotion << 20
+                | flags << 23;
+    }
+
+    public static int getFrom(final int move) {
+        return move & 63;
+    }
+
+    public static int getTo(final int move) {
+        return (move >>> 6) & 63;
+    }
+
+    public static int getPiece(final int move) {
+        return (move >>> 12) & 15;
+    }
+
+    public static int getCapturedPiece(final int move) {
+        final int capturedPiece = (move >>> 16) & 15;
+        return capturedPiece == NO_CAPTURE ? BitBoard.EMPTY : capturedPiece;
+    }
+
+    public static int getPromotion(final int move) {
+        return (move >>> 20) & 7;
+    }
+
+    public static int getFlags(final int move) {
+        return (move >>> 23) & 7;
+    }
+
+    public static boolean isCapture(final int move) {
+        return ((move >>> 16) & 15) != NO_CAPTURE;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return getPromotion(move) != NO_PROMOTION;
+    }
+
+    public static int fromMove(final Move move) {
+        final int flags;
+        if (move instanceof Move.PawnJump) {
+            flags = DOUBLE_PAWN_PUSH;
+        } else if (move instanceof Move.PawnEnPassantAttackMove) {
+            flags = EN_PASSANT;
+        } else if (move instanceof Move.KingSideCastleMove) {
+            flags = KING_SIDE_CASTLE;
+        } else if (move instanceof Move.QueenSideCastleMove) {
+            flags = QUEEN_SIDE_CASTLE;
+        } else {
+            flags = QUIET;
+        }
+        final Piece movedPiece = move.getMovedPiece();
+        final Piece attackedPiece = move.getAttackedPiece();
+        final int promotion = move instanceof Move.PawnPromotion ?
+                ((Move.PawnPromotion) move).getPromotionType().ordinal() : NO_PROMOTION;
+        return create(move.getCurrentCoordinate(),
+                move.getDestinationCoordinate(),
+                BitBoard.pieceIndex(movedPiece.getPieceAlliance(), movedPiece.getPieceType()),
+                attackedPiece == null ? BitBoard.EMPTY :
+                        BitBoard.pieceIndex(attackedPiece.getPieceAlliance(), attackedPiece.getPieceType()),
+                promotion,
+                flags);
+    }
+
+    public static String toString(final int move) {
+        return BoardUtils.getPositionAtCoordinate(getFrom(move))
+                + BoardUtils.getPositionAtCoordinate(getTo(move))
+                + (isPromotion(move) ? BitBoard.PIECE_TYPES[getPromotion(move)].toString().toLowerCase() : "");
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+public final class PieceSquareTables {
+    /**
+     * Material plus a bonus or penalty for where each piece stands, one table for the middlegame
+     * and one for the endgame. Like Zobrist keys, a position's score is the sum over its pieces,
+     * so BitBoard keeps it up to date with an add and a subtract per piece moved.
+     *
+     * The tables are laid out from white's side, a8 first; black looks them up mirrored, and the
+     * scores are negated so that both sum to one score for white. The phase counts the minor and
+     * major pieces left, weighted 1 for knights and bishops, 2 for rooks and 4 for queens:
+     * MAX_PHASE at the start, 0 with only kings and pawns left.
+     */
+
+    public static final int MAX_PHASE = 24;
+
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+
+    private static final int[] PAWN_MIDDLEGAME = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             10,  10,  20,  30,  30,  20,  10,  10,
+              5,   5,  10,  25,  25,  10,   5,   5,
+              0,   0,   0,  20,  20,   0,   0,   0,
+              5,  -5, -10,   0,   0, -10,  -5,   5,
+              5,  10,  10, -20, -20,  10,  10,   5,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    // with the pieces off, a pawn is worth more the closer it is to promoting
+    private static final int[] PAWN_ENDGAME = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             80,  80,  80,  80,  80,  80,  80,  80,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             30,  30,  30,  30,  30,  30,  30,  30,
+             20,  20,  20,  20,  20,  20,  20,  20,
+             10,  10,  10,  10,  10,  10,  10,  10,
+             10,  10,  10,  10,  10,  10,  10,  10,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20,   0,   0,   0,   0, -20, -40,
+            -30,   0,  10,  15,  15,  10,   0, -30,
+            -30,   5,  15,  20,  20,  15,   5, -30,
+            -30,   0,  15,  20,  20,  15,   0, -30,
+            -30,   5,  10,  15,  15,  10,   5, -30,
+            -40, -20,   0,   5,   5,   0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,  10,  10,   5,   0, -10,
+            -10,   5,   5,  10,  10,   5,   5, -10,
+            -10,   0,  10,  10,  10,  10,   0, -10,
+            -10,  10,  10,  10,  10,  10,  10, -10,
+            -10,   5,   0,   0,   0,   0,   5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+              5,  10,  10,  10,  10,  10,  10,   5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+              0,   0,   0,   5,   5,   0,   0,   0
+    };
+
+    private static final int[] QUEEN = {
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,   5,   5,   5,   0, -10,
+             -5,   0,   5,   5,   5,   5,   0,  -5,
+              0,   0,   5,   5,   5,   5,   0,  -5,
+            -10,   5,   5,   5,   5,   5,   0, -10,
+            -10,   0,   5,   0,   0,   0,   0, -10,
+            -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+
+    // the king hides behind its pawns while there are pieces to attack it...
+    private static final int[] KING_MIDDLEGAME = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+             20,  20,   0,   0,   0,   0,  20,  20,
+             20,  30,  10,   0,   0,  10,  30,  20
+    };
+
+    // ...and heads for the centre once there aren't
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10,   0,   0, -10, -20, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -30,   0,   0,   0,   0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    // [piece index][square], material included, signed for white
+    private static final int[][] MIDDLEGAME = initializeScores(
+            PAWN_MIDDLEGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_MIDDLEGAME);
+    private static final int[][] ENDGAME = initializeScores(
+            PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME);
+
+    private PieceSquareTables() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    private static int[][] initializeScores(final int[]... tables) {
+        final PieceType[] pieceTypes = PieceType.values();
+        final int[][] scores = new int[12][64];
+        for (int pieceType = 0; pieceType < 6; pieceType++) {
+            final int value = pieceTypes[pieceType].getPieceValue();
+            for (int square = 0; square < 64; square++) {
+                scores[pieceType][square] = value + tables[pieceType][square];
+                // a black piece on a square scores what a white one does on the square mirrored across the board
+                scores[6 + pieceType][square] = -(value + tables[pieceType][square ^ 56]);
+            }
+        }
+        return scores;
+    }
+
+    public static int middlegameScore(final int pieceIndex, final int square) {
+        return MIDDLEGAME[pieceIndex][square];
+    }
+
+    public static int endgameScore(final int pieceIndex, final int square) {
+        return ENDGAME[pieceIndex][square];
+    }
+
+    public static int phase(final int pieceIndex) {
+        return PHASE_WEIGHTS[pieceIndex % 6];
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.chess.engine.board;
+
+import java.util.Random;
+
+final class Zobrist {
+    /**
+     * Random keys for 64-bit position hashing. A position's key is the XOR of the keys
+     * of everything in it, so each change to the position is a couple of XORs.
+     */
+
+    private static final long SEED = 0x2C1B_3C6D_5A4E_9F87L;
+
+    private static final long[][] PIECE_KEYS = new long[12][64];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_FILE_KEYS = new long[8];
+    static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final Random random = new Random(SEED);
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int square = 0; square < 64; square++) {
+                pieceKeys[square] = random.nextLong();
+            }
+        }
+        // no castling rights hashes to nothing, like an empty board
+        for (int castlingRights = 1; castlingRights < 16; castlingRights++) {
+            CASTLING_KEYS[castlingRights] = random.nextLong();
+        }
+        for (int file = 0; file < 8; file++) {
+            EN_PASSANT_FILE_KEYS[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    static long pieceKey(final int pieceIndex, final int square) {
+        return PIECE_KEYS[pieceIndex][square];
+    }
+
+    static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    static long enPassantKey(final int enPassantSquare) {
+        return enPassantSquare == BitBoard.NO_SQUARE ? 0 : EN_PASSANT_FILE_KEYS[enPassantSquare % 8];
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.chess.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.chess.BoardConstruction")
+@Label("Board Construction")
+@Category({"Chess", "Board"})
+@Description("An immutable Board built, as every move made through Player.makeMove does; a steady source of garbage")
+public final class BoardConstructionEvent extends jdk.jfr.Event {
+
+    @Label("Pieces")
+    public int pieces;
+}
@@ -0,0 +1,23 @@
+package com.chess.engine.jfr;
+
+public final class EngineEvents {
+    /**
+     * Switch for the engine's JDK Flight Recorder events. They are off unless the JVM is started
+     * with -Dchess.jfr=true; record them with e.g.
+     *
+     *   java -Dchess.jfr=true -XX:StartFlightRecording=filename=game.jfr com.chess.Chess
+     *
+     * Every place that emits an event checks ENABLED first. It is a constant, so when it is false
+     * the JIT drops those branches and the events cost nothing, not even an allocation.
+     */
+
+    public static final boolean ENABLED = Boolean.getBoolean("chess.jfr");
+
+    // move generation is timed at one node in this many, a power of two
+    public static final int MOVE_GENERATION_SAMPLE_INTERVAL = 4096;
+
+    private EngineEvents() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.chess.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.chess.MoveGeneration")
+@Label("Move Generation")
+@Category({"Chess", "Search"})
+@Description("Move generation at a search node, sampled at one node in EngineEvents.MOVE_GENERATION_SAMPLE_INTERVAL")
+public final class MoveGenerationEvent extends jdk.jfr.Event {
+
+    public static final String SEARCH = "search";
+    public static final String QUIESCENCE = "quiescence";
+    public static final String QUIESCENCE_EVASIONS = "quiescence evasions";
+
+    @Label("Node Type")
+    public String nodeType;
+
+    @Label("Moves")
+    public int moves;
+}
@@ -0,0 +1,34 @@
+package com.chess.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.chess.RootMove")
+@Label("Root Move")
+@Category({"Chess", "Search"})
+@Description("The search of one move at the root")
+public final class RootMoveEvent extends jdk.jfr.Event {
+
+    @Label("Depth")
+    public int depth;
+
+    @Label("Thread Index")
+    @Description("0 for the main search, 1 and up for Lazy SMP helpers and fork-join workers")
+    public int threadIndex;
+
+    @Label("Move")
+    public String move;
+
+    @Label("Move Number")
+    public int moveNumber;
+
+    @Label("Score")
+    @Description("From the mover's point of view")
+    public int score;
+
+    @Label("Nodes")
+    @Description("Nodes the thread searched for the move")
+    public long nodes;
+}
@@ -0,0 +1,34 @@
+package com.chess.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.chess.SearchIteration")
+@Label("Search Iteration")
+@Category({"Chess", "Search"})
+@Description("One iteration of iterative deepening, from its start to its end")
+public final class SearchIterationEvent extends jdk.jfr.Event {
+
+    @Label("Depth")
+    public int depth;
+
+    @Label("Thread Index")
+    @Description("0 for the main search, 1 and up for Lazy SMP helpers")
+    public int threadIndex;
+
+    @Label("Completed")
+    @Description("False if the search was stopped during the iteration")
+    public boolean completed;
+
+    @Label("Best Move")
+    public String bestMove;
+
+    @Label("Score")
+    @Description("From the side to move's point of view")
+    public int score;
+
+    @Label("Nodes")
+    public long nodes;
+}
@@ -0,0 +1,28 @@
+package com.chess.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.chess.TranspositionTable")
+@Label("Transposition Table")
+@Category({"Chess", "Search"})
+@Description("Allocation or clearing of a transposition table")
+public final class TranspositionTableEvent extends jdk.jfr.Event {
+
+    public static final String ALLOCATE = "allocate";
+    public static final String CLEAR = "clear";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+
+    @Label("Capacity")
+    @Description("Entries the table holds")
+    public int capacity;
+}
@@ -3,17 +3,12 @@ package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.MagicBitBoards;
 import com.chess.engine.board.Move;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import static com.chess.engine.board.Move.*;
-
 public class Bishop extends Piece {
-    private final static int[] CANDIDATE_MOVE_VECTOR_COORDINATE = {-9, -7, 7, 9};
-
     public Bishop(int piecePosition, Alliance pieceAlliance, boolean moved) {
         super(PieceType.BISHOP, piecePosition, pieceAlliance, moved);
     }
@@ -24,42 +19,8 @@ public class Bishop extends Piece {
     }
 
     @Override
-    public List<Move> calculateLegalMoves(Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (int candidateCoordinateOffset : CANDIDATE_MOVE_VECTOR_COORDINATE) {
-            int candidateDestinationCoordinate = this.piecePosition;
-
-            while (true) {
-                candidateDestinationCoordinate += candidateCoordinateOffset;
-
-                int row_offset = this.piecePosition / 8 - candidateDestinationCoordinate / 8;
-                int column_offset = this.piecePosition % 8 - candidateDestinationCoordinate % 8;
-                boolean exclusion = Math.abs(row_offset) == Math.abs(column_offset);
-
-                if (candidateDestinationCoordinate >= 0 && candidateDestinationCoordinate < 64 && exclusion) {
-                    if (!board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                        legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                    } else {
-                        final Piece pieceAtDestination = board.getTile(candidateDestinationCoordinate).getPiece();
-                        final Alliance pieceAlliance = pieceAtDestination.pieceAlliance;
-
-                        if (this.pieceAlliance != pieceAlliance) {
-                            legalMoves.add(
-                                    new AttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination)
-                            );
-                        }
-                        break;  // regardless of the alliance of the piece
-                    }
-
-                } else {
-                    break;
-                }
-
-            }
-        }
-
-        return ImmutableList.copyOf(legalMoves);
+    public List<Move> calculateLegalMoves(final Board board) {
+        return calculateSlidingMoves(board, MagicBitBoards.bishopAttacks(this.piecePosition, board.getBitBoard().getOccupancy()));
     }
 
     @Override
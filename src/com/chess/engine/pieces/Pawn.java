@@ -14,6 +14,7 @@ import static com.chess.engine.board.Move.*;
 
 public class Pawn extends Piece {
     private final static int[] CANDIDATE_MOVE_COORDINATE = {7, 8, 9, 16};
+    private final static PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
 
     public Pawn(final int piecePosition, final Alliance pieceAlliance, boolean moved) {
         super(PieceType.PAWN, piecePosition, pieceAlliance, moved);
@@ -36,7 +37,9 @@ public class Pawn extends Piece {
                     // move forward by 1
                     if (pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
                         // promotion
-                        legalMoves.add(new PawnPromotion(new PawnMove(board, this, candidateDestinationCoordinate)));
+                        for (final PieceType promotionType : PROMOTION_TYPES) {
+                            legalMoves.add(new PawnPromotion(new PawnMove(board, this, candidateDestinationCoordinate), promotionType));
+                        }
 
                     } else {
                         legalMoves.add(new PawnMove(board, this, candidateDestinationCoordinate));
@@ -62,10 +65,13 @@ public class Pawn extends Piece {
                     if (Math.abs(row_offset) == 1 && Math.abs(col_offset) == 1 /*pff java doesn't have a == b == c*/) {
                         if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
                             Piece targetPiece = board.getTile(candidateDestinationCoordinate).getPiece();
-                            if (pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                                legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, candidateDestinationCoordinate, targetPiece)));
-                            } else {
-                                if (targetPiece.pieceAlliance != this.pieceAlliance) {
+                            if (targetPiece.pieceAlliance != this.pieceAlliance) {
+                                if (pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
+                                    for (final PieceType promotionType : PROMOTION_TYPES) {
+                                        legalMoves.add(new PawnPromotion(
+                                                new PawnAttackMove(board, this, candidateDestinationCoordinate, targetPiece), promotionType));
+                                    }
+                                } else {
                                     legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, targetPiece));
                                 }
                             }
@@ -92,7 +98,18 @@ public class Pawn extends Piece {
         return new Pawn(move.getDestinationCoordinate(), move.getMovedPiece().getPieceAlliance(), true);
     }
 
-    public Piece getPromotionPiece() {
-        return new Queen(this.piecePosition, this.pieceAlliance, true);
+    public Piece getPromotionPiece(final PieceType promotionType) {
+        switch (promotionType) {
+            case QUEEN:
+                return new Queen(this.piecePosition, this.pieceAlliance, true);
+            case ROOK:
+                return new Rook(this.piecePosition, this.pieceAlliance, true);
+            case BISHOP:
+                return new Bishop(this.piecePosition, this.pieceAlliance, true);
+            case KNIGHT:
+                return new Knight(this.piecePosition, this.pieceAlliance, true);
+            default:
+                throw new IllegalArgumentException("A pawn cannot promote to " + promotionType);
+        }
     }
 }
@@ -3,9 +3,12 @@ package com.chess.engine.pieces;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
 
 import java.util.List;
 
+import static com.chess.engine.board.Move.*;
+
 public abstract class Piece {
 
     private final PieceType pieceType;
@@ -49,6 +52,26 @@ public abstract class Piece {
 
     public abstract Piece movePiece(Move move);
 
+    List<Move> calculateSlidingMoves(final Board board, final long attacks) {
+        final long destinations = attacks & ~board.getBitBoard().getPieces(this.pieceAlliance);
+        final ImmutableList.Builder<Move> legalMoves = ImmutableList.builderWithExpectedSize(Long.bitCount(destinations));
+
+        long remainingDestinations = destinations;
+        while (remainingDestinations != 0) {
+            final int candidateDestinationCoordinate = Long.numberOfTrailingZeros(remainingDestinations);
+            remainingDestinations &= remainingDestinations - 1;
+
+            final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+            if (pieceAtDestination == null) {
+                legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+            } else {
+                legalMoves.add(new AttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
+            }
+        }
+
+        return legalMoves.build();
+    }
+
     public Alliance getPieceAlliance() {
         return this.pieceAlliance;
 
@@ -88,6 +111,10 @@ public abstract class Piece {
             return this.pieceName;
         }
 
+        public int getPieceValue() {
+            return this.pieceValue;
+        }
+
         public boolean isKing() {
             return this == KING;
         }
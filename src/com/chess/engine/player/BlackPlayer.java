@@ -14,10 +14,8 @@ import java.util.List;
 
 public class BlackPlayer extends Player {
 
-    public BlackPlayer(Board board,
-                       Collection<Move> whiteStandardLegalMoves,
-                       Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -36,14 +34,14 @@ public class BlackPlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles() {
         List<Move> kingCastles = new ArrayList<>();
 
         int kingCoordinate = 4;
         int rookQueenCoordinate = 0;
         int rookKingCoordinate = 7;
         // black king side castling
-        if (checkCastlingEligible(kingCoordinate, rookKingCoordinate, opponentLegals)) {
+        if (checkCastlingEligible(kingCoordinate, rookKingCoordinate)) {
             kingCastles.add(new Move.KingSideCastleMove(
                     this.board,
                     this.playerKing,
@@ -53,7 +51,7 @@ public class BlackPlayer extends Player {
             ));
         }
         // black queen side castling
-        if (checkCastlingEligible(kingCoordinate, rookQueenCoordinate, opponentLegals)) {
+        if (checkCastlingEligible(kingCoordinate, rookQueenCoordinate)) {
             kingCastles.add(new Move.QueenSideCastleMove(
                     this.board,
                     this.playerKing,
@@ -0,0 +1,14 @@
+package com.chess.engine.player;
+
+
+public enum GameStatus {
+    IN_PROGRESS,
+    CHECK,
+    CHECKMATE,
+    STALEMATE;
+
+    public boolean isGameOver() {
+        return this == CHECKMATE || this == STALEMATE;
+    }
+
+}
@@ -2,113 +2,188 @@ package com.chess.engine.player;
 
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.LegalMoveFilter;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public abstract class Player {
 
     protected final Board board;
     final King playerKing;
-    private final Collection<Move> legalMoves;
-    private boolean isInCheck;
+    // computed on first use, so boards that are only evaluated never generate moves
+    private Collection<Move> standardLegalMoves;
+    private Collection<Move> legalMoves;
+    private LegalMoveFilter legalMoveFilter;
+    private GameStatus gameStatus;
+    private Map<Integer, Move> legalMoveIndex;
     public boolean isCastled;
 
-    Player(final Board board,
-           final Collection<Move> legalMoves,
-           final Collection<Move> opponentLegalMoves) {
+    Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentLegalMoves)));
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegalMoves).isEmpty();
         this.isCastled = false;
     }
 
-    private King getPlayerKing() {
-        return playerKing;
-    }
-
     @Override
     public String toString() {
         return this.getAlliance().toString();
     }
 
     public Collection<Move> getLegalMoves() {
-        return legalMoves;
+        if (this.legalMoves == null) {
+            final Collection<Move> standardLegalMoves = getStandardLegalMoves();
+            final LegalMoveFilter legalMoveFilter = getLegalMoveFilter();
+            final ImmutableList.Builder<Move> legalMoves = ImmutableList.builder();
+            for (final Move move : Iterables.concat(standardLegalMoves, calculateKingCastles())) {
+                if (legalMoveFilter.isLegal(move)) {
+                    legalMoves.add(move);
+                }
+            }
+            this.legalMoves = legalMoves.build();
+        }
+        return this.legalMoves;
+    }
+
+    /**
+     * The legal move between the two tiles, or null if there is none.
+     * A pawn reaching the last rank promotes to the given piece type.
+     */
+    public Move getLegalMove(final int currentCoordinate,
+                             final int destinationCoordinate,
+                             final Piece.PieceType promotionType) {
+        final Map<Integer, Move> legalMoveIndex = getLegalMoveIndex();
+        final Move move = legalMoveIndex.get(moveKey(currentCoordinate, destinationCoordinate, PackedMove.NO_PROMOTION));
+        return move != null ? move : legalMoveIndex.get(moveKey(currentCoordinate, destinationCoordinate, promotionType.ordinal()));
+    }
+
+    private Map<Integer, Move> getLegalMoveIndex() {
+        if (this.legalMoveIndex == null) {
+            final Collection<Move> legalMoves = getLegalMoves();
+            final ImmutableMap.Builder<Integer, Move> legalMoveIndex = ImmutableMap.builderWithExpectedSize(legalMoves.size());
+            for (final Move move : legalMoves) {
+                legalMoveIndex.put(moveKey(move), move);
+            }
+            this.legalMoveIndex = legalMoveIndex.build();
+        }
+        return this.legalMoveIndex;
+    }
+
+    private static int moveKey(final int currentCoordinate, final int destinationCoordinate, final int promotion) {
+        return currentCoordinate | destinationCoordinate << 6 | promotion << 12;
     }
 
-    private static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves) {
-        final List<Move> attackMoves = new ArrayList<>();
-        for (final Move move : moves) {
-            if (piecePosition == move.getDestinationCoordinate()) {
-                attackMoves.add(move);
+    private static int moveKey(final Move move) {
+        return moveKey(move.getCurrentCoordinate(), move.getDestinationCoordinate(),
+                PackedMove.getPromotion(PackedMove.fromMove(move)));
+    }
+
+    private LegalMoveFilter getLegalMoveFilter() {
+        if (this.legalMoveFilter == null) {
+            this.legalMoveFilter = new LegalMoveFilter(this.board.getBitBoard(), getAlliance());
+        }
+        return this.legalMoveFilter;
+    }
+
+    private Collection<Move> getStandardLegalMoves() {
+        if (this.standardLegalMoves == null) {
+            final List<Move> standardLegalMoves = new ArrayList<>();
+            for (final Piece piece : getActivePieces()) {
+                standardLegalMoves.addAll(piece.calculateLegalMoves(this.board));
             }
+            this.standardLegalMoves = ImmutableList.copyOf(standardLegalMoves);
         }
-        return ImmutableList.copyOf(attackMoves);
+        return this.standardLegalMoves;
     }
 
+    private boolean isKingAttacked() {
+        return getLegalMoveFilter().isInCheck();
+    }
 
     private King establishKing() {
-        for (final Piece piece : getActivePieces()) {
-            if (piece.getPieceType().isKing()) {
-                return (King) piece;
-            }
+        final long kingBitBoard = this.board.getBitBoard().getPieces(getAlliance(), Piece.PieceType.KING);
+        if (kingBitBoard == 0) {
+            throw new RuntimeException("Invalid board");
         }
-        throw new RuntimeException("Invalid board");
+        return (King) this.board.getPiece(Long.numberOfTrailingZeros(kingBitBoard));
     }
 
     private boolean isMoveLegal(Move move) {
-        return !(move instanceof Move.NullMove) && this.legalMoves.contains(move);
+        if (move instanceof Move.NullMove) {
+            return false;
+        }
+        final Move legalMove = getLegalMoveIndex().get(moveKey(move));
+        return legalMove != null && legalMove.equals(move);
+    }
+
+
+    /**
+     * Check, checkmate and stalemate, worked out once per position: the evaluator and the GUI
+     * ask for them over and over for the same board.
+     */
+    public GameStatus getGameStatus() {
+        if (this.gameStatus == null) {
+            final boolean hasLegalMoves = hasLegalMoves();
+            if (isKingAttacked()) {
+                this.gameStatus = hasLegalMoves ? GameStatus.CHECK : GameStatus.CHECKMATE;
+            } else {
+                this.gameStatus = hasLegalMoves ? GameStatus.IN_PROGRESS : GameStatus.STALEMATE;
+            }
+        }
+        return this.gameStatus;
     }
 
-
     public boolean isInCheckMate() {
-        return this.isInCheck && !hasEscapeMoves();
+        return getGameStatus() == GameStatus.CHECKMATE;
     }
 
     public boolean isInCheck() {
-        return this.isInCheck && hasEscapeMoves();
+        return getGameStatus() == GameStatus.CHECK;
+    }
+
+    public boolean isInStaleMate() {
+        return getGameStatus() == GameStatus.STALEMATE;
     }
 
-    private boolean hasEscapeMoves() {
-        for (Move move : this.legalMoves) {
-            MoveTransition transition = makeMove(move);
-            if (transition.getMoveStatus().isDone()) {
+    /**
+     * Stops at the first legal move instead of filtering the whole move list. Castling can be
+     * skipped: whenever it is legal, so is the king's step towards the rook.
+     */
+    public boolean hasLegalMoves() {
+        if (this.legalMoves != null) {
+            return !this.legalMoves.isEmpty();
+        }
+        final LegalMoveFilter legalMoveFilter = getLegalMoveFilter();
+        for (final Move move : getStandardLegalMoves()) {
+            if (legalMoveFilter.isLegal(move)) {
                 return true;
             }
         }
         return false;
     }
 
-    public boolean isInStaleMate() {
-        return !this.isInCheck && !hasEscapeMoves();
-    }
-
     public MoveTransition makeMove(Move move) {
         if (!isMoveLegal(move)) {
-            return new MoveTransition(this.board, /*move, */MoveStatus.ILLEGAL_MOVE);
+            // legal moves are filtered for pins and checks up front, so nothing is executed to find this out
+            final boolean leavesPlayerInCheck = !(move instanceof Move.NullMove) && getStandardLegalMoves().contains(move);
+            return new MoveTransition(this.board, /*move, */leavesPlayerInCheck ?
+                    MoveStatus.LEAVES_PLAYER_IN_CHECK : MoveStatus.ILLEGAL_MOVE);
         }
 
-        Board transitionBoard = move.execute();
-
-        Collection<Move> kingAttacks = Player.calculateAttacksOnTile(
-                transitionBoard.getCurrentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionBoard.getCurrentPlayer().getLegalMoves()
-        );
-
-        if (!kingAttacks.isEmpty()) {
-            return new MoveTransition(this.board, /*move, */MoveStatus.LEAVES_PLAYER_IN_CHECK);
-        }
-
-        return new MoveTransition(transitionBoard, /*move, */MoveStatus.DONE);
+        return new MoveTransition(move.execute(), /*move, */MoveStatus.DONE);
     }
 
     public boolean isKingSideCastleAvailable() {
@@ -119,43 +194,26 @@ public abstract class Player {
         return this.playerKing.isQueenSideCastleAvailable();
     }
 
-    private boolean checkTransitionMoves(List<Integer> transitionTilesCoordinates, Collection<Move> opponentMoves) {
-        for (int tileCoordinate : transitionTilesCoordinates) {
-            if (this.board.getTile(tileCoordinate).isTileOccupied()
-                    || !calculateAttacksOnTile(tileCoordinate, opponentMoves).isEmpty()) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    boolean checkCastlingEligible(
-            int kingCoordinate,
-            int rookCoordinate,
-            Collection<Move> opponentMoves) {
-        Tile kingTile = this.board.getTile(kingCoordinate);
-        Tile rookTile = this.board.getTile(rookCoordinate);
-
-        List<Integer> transitionTilesCoordinates = new ArrayList<>();
-        int lo, hi;
-        if (rookCoordinate < kingCoordinate) {
-            lo = rookCoordinate;
-            hi = kingCoordinate;
-        } else {
-            lo = kingCoordinate;
-            hi = rookCoordinate;
+    /**
+     * The king and rook are unmoved, nothing stands between them, and the king is not
+     * in check and does not pass through or land on an attacked tile.
+     */
+    boolean checkCastlingEligible(final int kingCoordinate, final int rookCoordinate) {
+        final Tile kingTile = this.board.getTile(kingCoordinate);
+        final Tile rookTile = this.board.getTile(rookCoordinate);
+        if (!kingTile.isTileOccupied() || kingTile.getPiece().isMoved()
+                || !rookTile.isTileOccupied() || rookTile.getPiece().isMoved()) {
+            return false;
         }
-        for (int coordinate = lo + 1; coordinate < hi; coordinate++) {
-            transitionTilesCoordinates.add(coordinate);
+        final BitBoard bitBoard = this.board.getBitBoard();
+        if ((bitBoard.getOccupancy() & BoardUtils.SQUARES_BETWEEN[kingCoordinate][rookCoordinate]) != 0
+                || isKingAttacked()) {
+            return false;
         }
-        /*System.out.printf("%s -> %s: %s\n", String.valueOf(kingCoordinate), String.valueOf(rookCoordinate), String.valueOf(kingTile.isTileOccupied() && !kingTile.getPiece().isMoved() && !this.isInCheck()
-                && rookTile.isTileOccupied() && !rookTile.getPiece().isMoved() && calculateAttacksOnTile(rookCoordinate, opponentMoves).isEmpty()
-                && checkTransitionMoves(transitionTilesCoordinates, opponentMoves)));*/
-
-        return kingTile.isTileOccupied() && !kingTile.getPiece().isMoved() && !this.isInCheck()
-                && rookTile.isTileOccupied() && !rookTile.getPiece().isMoved() && calculateAttacksOnTile(rookCoordinate, opponentMoves).isEmpty()
-                && checkTransitionMoves(transitionTilesCoordinates, opponentMoves);
-
+        final int step = rookCoordinate > kingCoordinate ? 1 : -1;
+        final Alliance opponent = getAlliance().getOpposite();
+        return !bitBoard.isSquareAttacked(kingCoordinate + step, opponent)
+                && !bitBoard.isSquareAttacked(kingCoordinate + 2 * step, opponent);
     }
 
     public abstract Collection<Piece> getActivePieces();
@@ -164,13 +222,10 @@ public abstract class Player {
 
     public abstract Player getOpponent();
 
-    protected abstract Collection<Move> calculateKingCastles(
-            Collection<Move> playerLegals,
-            Collection<Move> opponentLegals
-    );
+    protected abstract Collection<Move> calculateKingCastles();
 
     public Collection<Move> getKingCastles() {
-        return calculateKingCastles(legalMoves, getOpponent().legalMoves);
+        return calculateKingCastles();
     }
 
 }
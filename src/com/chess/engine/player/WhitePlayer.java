@@ -15,11 +15,8 @@ import java.util.List;
 import static com.chess.engine.board.Move.*;
 
 public class WhitePlayer extends Player {
-    public WhitePlayer(Board board,
-                       Collection<Move> whiteStandardLegalMoves,
-                       Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
-
+    public WhitePlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -38,14 +35,14 @@ public class WhitePlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles() {
         List<Move> kingCastles = new ArrayList<>();
 
         int kingCoordinate = 60;
         int rookKingCoordinate = 63;
         int rookQueenCoordinate = 56;
         // white king side castling
-        if (checkCastlingEligible(kingCoordinate, rookKingCoordinate, opponentLegals)) {
+        if (checkCastlingEligible(kingCoordinate, rookKingCoordinate)) {
             kingCastles.add(new KingSideCastleMove(
                     this.board,
                     this.playerKing,
@@ -55,7 +52,7 @@ public class WhitePlayer extends Player {
             ));
         }
         // white queen side castling
-        if (checkCastlingEligible(kingCoordinate, rookQueenCoordinate, opponentLegals)) {
+        if (checkCastlingEligible(kingCoordinate, rookQueenCoordinate)) {
             kingCastles.add(new QueenSideCastleMove(
                     this.board,
                     this.playerKing,
@@ -2,24 +2,202 @@ package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveStatus;
-import com.chess.engine.player.MoveTransition;
-import com.chess.gui.Table;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.jfr.EngineEvents;
+import com.chess.engine.jfr.MoveGenerationEvent;
+import com.chess.engine.jfr.RootMoveEvent;
+import com.chess.engine.jfr.SearchIterationEvent;
+import com.chess.engine.pieces.Piece;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class AlphaBeta implements MoveStrategy {
     /**
      * Evaluator with alpha-beta pruning
      * (slightly) more optimized than MiniMax
+     *
+     * Searches iteratively deeper, depth 1, 2, 3... up to the search depth, and stops early once the
+     * move time or node budget runs out; the move returned is the best of the last completed iteration.
+     * Each iteration starts with the previous one's best moves, at the root and through the
+     * transposition table, so the extra shallow iterations mostly pay for themselves in cutoffs.
+     * Below the root, moves are searched in the order MoveOrderer puts them in, and every iteration
+     * after the first starts with a narrow aspiration window around the previous one's score.
+     *
+     * With more than one thread, the extra threads are Lazy SMP helpers: they run the same search on
+     * their own, sharing only the lock-free transposition table, so each thread's results speed up the others.
+     * Given a fork-join pool instead, the root moves after the first are searched in parallel.
      */
 
+    public static final int MAX_SEARCH_DEPTH = 64;
+
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+
+    // positional swing a capture is allowed on top of its material before delta pruning skips it
+    private static final int DELTA_MARGIN = 200;
+
+    // larger than any score, and safe to negate, unlike Integer.MIN_VALUE
+    private static final int INFINITY = 1_000_000;
+
+    // the side to move checkmated n plies from the root scores -MATE + n, so that nearer mates count for more
+    static final int MATE = 100_000;
+
+    // scores past this are mates; the table keeps them as the distance from its own position, not the root
+    private static final int MATE_BOUND = MATE - MutableBoard.MAX_PLY;
+
+    // half-width of the first window the root searches around the previous iteration's score
+    private static final int ASPIRATION_WINDOW = 50;
+
+    // razoring and futility pruning only apply this close to the leaves
+    private static final int RAZORING_MAX_DEPTH = 2;
+    private static final int FUTILITY_MAX_DEPTH = 2;
+
+    // the clock, node budget and stop signal are looked at once every this many nodes
+    private static final int LIMIT_CHECK_INTERVAL = 1024;
+
     private final BoardEvaluator boardEvaluator;
-    private final int depth;
+    private final int searchDepth;
+    private final long moveTimeMillis;
+    private final long nodeLimit;
+    private final TranspositionTable transpositionTable;
+    private final boolean nullMovePruning;
+    private final int nullMoveReduction;
+    private final boolean lateMoveReductions;
+    private final int lateMoveReductionDepth;
+    private final int lateMoveReductionMoveCount;
+    private final boolean futilityPruning;
+    private final int futilityMargin;
+    private final boolean razoring;
+    private final int razorMargin;
+    private final int threads;
+    private final int helperIndex;
+    private final AtomicBoolean stopSignal;
+    private final ForkJoinPool forkJoinPool;
+    // the nodes of the main search and its fork-join workers together, counted LIMIT_CHECK_INTERVAL at a time
+    private final AtomicLong forkJoinNodeCount;
+    // one worker per pool thread, for the current search only
+    private Map<Thread, AlphaBeta> forkJoinWorkers;
+    private MutableBoard forkJoinBoard;
+    private final MoveOrderer moveOrderer;
+    private final MoveList[] moveLists;
+    private int depth;
+    private int rootBestIndex;
+    private long nodeCount;
+    private long quiescenceNodeCount;
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+    private long transpositionTableProbes;
+    private long transpositionTableHits;
+    private final List<Long> iterationNodes;
+    private final List<Long> iterationMillis;
+    private volatile SearchStatistics lastSearchStatistics;
+    private long deadline;
+    private boolean stopped;
+    private volatile Move bestMoveSoFar;
+    private final SearchListener searchListener;
+    private final long progressIntervalMillis;
+    private long searchStartTime;
+    private long lastProgressTime;
+    private int rootMoveCount;
+    private int currentRootMoveNumber;
+    private String currentRootMove;
+    private int bestScore;
+    private List<String> principalVariation;
 
     public AlphaBeta(int searchDepth) {
+        this(new Builder().setSearchDepth(searchDepth));
+    }
+
+    private AlphaBeta(final Builder builder) {
+        if (builder.searchDepth < 1 || builder.searchDepth > MAX_SEARCH_DEPTH) {
+            throw new IllegalArgumentException("Search depth must be between 1 and " + MAX_SEARCH_DEPTH + ", got " + builder.searchDepth);
+        }
+        if (builder.threads < 1) {
+            throw new IllegalArgumentException("Search needs at least 1 thread, got " + builder.threads);
+        }
+        if (builder.threads > 1 && builder.forkJoinPool != null) {
+            throw new IllegalArgumentException("Lazy SMP threads and a fork-join pool can't be used together");
+        }
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.searchDepth = builder.searchDepth;
+        this.moveTimeMillis = builder.moveTimeMillis;
+        this.nodeLimit = builder.nodeLimit;
+        this.transpositionTable = builder.transpositionTable != null ?
+                builder.transpositionTable : new TranspositionTable(builder.transpositionTableSizeMB);
+        this.nullMovePruning = builder.nullMovePruning;
+        this.nullMoveReduction = builder.nullMoveReduction;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.lateMoveReductionDepth = builder.lateMoveReductionDepth;
+        this.lateMoveReductionMoveCount = builder.lateMoveReductionMoveCount;
+        this.futilityPruning = builder.futilityPruning;
+        this.futilityMargin = builder.futilityMargin;
+        this.razoring = builder.razoring;
+        this.razorMargin = builder.razorMargin;
+        this.threads = builder.threads;
+        this.helperIndex = 0;
+        this.stopSignal = new AtomicBoolean();
+        this.forkJoinPool = builder.forkJoinPool;
+        this.forkJoinNodeCount = builder.forkJoinPool != null ? new AtomicLong() : null;
+        this.searchListener = builder.searchListener;
+        this.progressIntervalMillis = builder.progressIntervalMillis;
+        this.moveOrderer = new MoveOrderer();
+        this.moveLists = new MoveList[MutableBoard.MAX_PLY];
+        this.iterationNodes = new ArrayList<>();
+        this.iterationMillis = new ArrayList<>();
+    }
+
+    /**
+     * A Lazy SMP helper or fork-join worker: the same configuration and transposition table as the
+     * main search, its own killers, history and move lists. A helper has no limits but the main search's
+     * stop signal; a worker also keeps to the main search's clock and counts its nodes into the main
+     * search's node budget.
+     */
+    private AlphaBeta(final AlphaBeta main, final int helperIndex) {
         this.boardEvaluator = new StandardBoardEvaluator();
-        this.depth = searchDepth;
+        this.searchDepth = main.searchDepth;
+        this.moveTimeMillis = 0;
+        this.nodeLimit = main.forkJoinPool != null ? main.nodeLimit : 0;
+        this.transpositionTable = main.transpositionTable;
+        this.nullMovePruning = main.nullMovePruning;
+        this.nullMoveReduction = main.nullMoveReduction;
+        this.lateMoveReductions = main.lateMoveReductions;
+        this.lateMoveReductionDepth = main.lateMoveReductionDepth;
+        this.lateMoveReductionMoveCount = main.lateMoveReductionMoveCount;
+        this.futilityPruning = main.futilityPruning;
+        this.futilityMargin = main.futilityMargin;
+        this.razoring = main.razoring;
+        this.razorMargin = main.razorMargin;
+        this.threads = 1;
+        this.helperIndex = helperIndex;
+        this.stopSignal = main.stopSignal;
+        this.forkJoinPool = null;
+        this.forkJoinNodeCount = main.forkJoinNodeCount;
+        this.searchListener = SearchListener.NONE;
+        this.progressIntervalMillis = 0;
+        this.deadline = Long.MAX_VALUE;
+        this.moveOrderer = new MoveOrderer();
+        this.moveLists = new MoveList[MutableBoard.MAX_PLY];
+        this.iterationNodes = new ArrayList<>();
+        this.iterationMillis = new ArrayList<>();
     }
 
     @Override
@@ -27,95 +205,1002 @@ public class AlphaBeta implements MoveStrategy {
         return "AlphaBeta";
     }
 
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Statistics of the last search to finish, or null before the first; they are also added to SearchMetrics.
+     */
+    public SearchStatistics getLastSearchStatistics() {
+        return this.lastSearchStatistics;
+    }
+
+    /**
+     * Best move of the deepest iteration the current or last search completed, or null before the first.
+     */
+    public Move getBestMoveSoFar() {
+        return this.bestMoveSoFar;
+    }
+
+    /**
+     * Asks a running search to finish; it notices within 1024 nodes and returns the
+     * best move of its last completed iteration, or its first root move if it is stopped
+     * during the first iteration. Safe to call from any thread.
+     */
+    public void stop() {
+        this.stopSignal.set(true);
+    }
 
     @Override
     public Move execute(Board board) {
-        System.out.println(board.getCurrentPlayer() + " " + toString() + " thinking with DEPTH = " + depth);
+        this.stopSignal.set(false);
+        final SearchStatistics statistics = runSearch(board);
+        publish(statistics);
+        return statistics.getBestMove();
+    }
+
+    /**
+     * Starts the search on a new thread and returns at once; see SearchHandle.
+     */
+    public SearchHandle executeAsync(final Board board) {
+        this.stopSignal.set(false);
+        final CompletableFuture<SearchStatistics> result = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                final SearchStatistics statistics = runSearch(board);
+                // a cancelled search has no result, so nobody hears about it
+                if (!result.isCancelled()) {
+                    publish(statistics);
+                    result.complete(statistics);
+                }
+            } catch (final Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }, "AlphaBeta search");
+        thread.setDaemon(true);
+        final SearchHandle handle = new SearchHandle(this, thread, result);
+        thread.start();
+        return handle;
+    }
 
+    /**
+     * Runs one search and returns its statistics, which carry its best move; publish() then
+     * announces them unless the search was cancelled.
+     */
+    private SearchStatistics runSearch(Board board) {
         final long startTime = System.currentTimeMillis();
+        this.deadline = moveTimeMillis > 0 ? startTime + moveTimeMillis : Long.MAX_VALUE;
+        this.bestMoveSoFar = null;
+        this.transpositionTable.newSearch();
+
+        final Move[] rootMoves = board.getCurrentPlayer().getLegalMoves().toArray(new Move[0]);
+        this.searchStartTime = startTime;
+        this.lastProgressTime = startTime;
+        this.rootMoveCount = rootMoves.length;
+        this.depth = 0;
+        this.currentRootMoveNumber = 0;
+        this.currentRootMove = null;
+        this.bestScore = 0;
+        this.principalVariation = Collections.emptyList();
+        this.searchListener.searchStarted(progress(0));
+        final AlphaBeta[] helpers = new AlphaBeta[threads - 1];
+        final List<Future<?>> helperResults = new ArrayList<>();
+        ExecutorService helperThreads = null;
+        if (helpers.length > 0 && rootMoves.length > 1) {
+            helperThreads = Executors.newFixedThreadPool(helpers.length, runnable -> {
+                final Thread thread = new Thread(runnable, "AlphaBeta helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int i = 0; i < helpers.length; i++) {
+                helpers[i] = new AlphaBeta(this, i + 1);
+                final AlphaBeta helper = helpers[i];
+                final MutableBoard helperBoard = new MutableBoard(board);
+                final Move[] helperRootMoves = rootMoves.clone();
+                // helpers walk the root in a different order, so that they fill the table with different subtrees
+                Collections.rotate(Arrays.asList(helperRootMoves), i + 1);
+                helperResults.add(helperThreads.submit(() -> helper.iterativeDeepening(helperBoard, helperRootMoves)));
+            }
+        }
 
+        final MutableBoard searchBoard = new MutableBoard(board);
+        if (this.forkJoinPool != null) {
+            // the root board isn't searched on, so copying it from any thread is safe
+            this.forkJoinBoard = new MutableBoard(searchBoard);
+            this.forkJoinWorkers = new ConcurrentHashMap<>();
+            this.forkJoinNodeCount.set(0);
+        }
+
+        final Move bestMove = iterativeDeepening(searchBoard, rootMoves);
+
+        this.stopSignal.set(true);
+        final List<AlphaBeta> searchers = new ArrayList<>();
+        searchers.add(this);
+        if (helperThreads != null) {
+            for (final Future<?> helperResult : helperResults) {
+                try {
+                    helperResult.get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (final ExecutionException e) {
+                    throw new RuntimeException("Search helper failed", e.getCause());
+                }
+            }
+            helperThreads.shutdown();
+            searchers.addAll(Arrays.asList(helpers));
+        }
+        if (this.forkJoinPool != null) {
+            searchers.addAll(this.forkJoinWorkers.values());
+            // the pool outlives the search, so its threads mustn't keep the workers and their boards
+            this.forkJoinWorkers = null;
+            this.forkJoinBoard = null;
+        }
+        this.currentRootMove = null;
+        return statistics(bestMove, searchers, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Records a finished search's statistics and tells the listener it is over.
+     */
+    private void publish(final SearchStatistics statistics) {
+        this.lastSearchStatistics = statistics;
+        SearchMetrics.get().record(statistics);
+        this.searchListener.searchFinished(progress(statistics.getNodes()));
+    }
+
+    /**
+     * Searches the root moves deeper and deeper until the search depth or a limit is reached, and
+     * returns the best move of the last completed iteration, or the first root move if stop() came
+     * before the first iteration completed. Helpers start at depth 1 or 2 alternately,
+     * so that at any moment not every thread works on the same iteration.
+     */
+    private Move iterativeDeepening(MutableBoard searchBoard, Move[] rootMoves) {
+        final long startTime = System.currentTimeMillis();
+        this.nodeCount = 0;
+        this.quiescenceNodeCount = 0;
+        this.betaCutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        this.transpositionTableProbes = 0;
+        this.transpositionTableHits = 0;
+        this.iterationNodes.clear();
+        this.iterationMillis.clear();
+        this.stopped = false;
+        this.moveOrderer.newSearch();
+
+        final int numMoves = rootMoves.length;
         Move bestMove = null;
+        int previousScore = 0;
+        long iterationStartTime = startTime;
+        long iterationStartNodes = 0;
 
-        int hi = Integer.MIN_VALUE;
-        int lo = Integer.MAX_VALUE;
-        int score;
-
-        int numMoves = board.getCurrentPlayer().getLegalMoves().size();
-        int moveCount = 0;
-        Table.get().progressBarPanel.setMaximum(numMoves);
-        Table.get().progressBarPanel.setStringPainted(false);
-        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-            System.out.printf("move: %d / %d\n", ++moveCount, numMoves);
-            Table.get().progressBarPanel.setValue(moveCount);
-            final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus() == MoveStatus.DONE) {
-                score = board.getCurrentPlayer().getAlliance().isWhite() ?
-                        min(moveTransition.getBoard(), depth - 1, Integer.MIN_VALUE, Integer.MAX_VALUE)
-                        :
-                        max(moveTransition.getBoard(), depth - 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
-                if (board.getCurrentPlayer().getAlliance().isWhite() && score >= hi) {
-                    hi = score;
-                    bestMove = move;
-                } else if (board.getCurrentPlayer().getAlliance().isBlack() && score <= lo) {
-                    lo = score;
-                    bestMove = move;
+        for (this.depth = 1 + this.helperIndex % 2; this.depth <= searchDepth && numMoves > 0; this.depth++) {
+            // expect about the previous iteration's score, and widen the window on whichever side it fails
+            int window = ASPIRATION_WINDOW;
+            int alpha = bestMove != null ? Math.max(previousScore - window, -INFINITY) : -INFINITY;
+            int beta = bestMove != null ? Math.min(previousScore + window, INFINITY) : INFINITY;
+            final SearchIterationEvent iterationEvent = EngineEvents.ENABLED ? new SearchIterationEvent() : null;
+            if (iterationEvent != null) {
+                iterationEvent.begin();
+            }
+            int score;
+            while (true) {
+                score = searchRoot(searchBoard, rootMoves, alpha, beta);
+                if (this.stopped) {
+                    break;
+                }
+                if (score <= alpha) {
+                    alpha = Math.max(score - window, -INFINITY);
+                } else if (score >= beta) {
+                    beta = Math.min(score + window, INFINITY);
+                } else {
+                    break;
                 }
+                window *= 2;
+            }
+            if (iterationEvent != null) {
+                commitIterationEvent(iterationEvent, rootMoves, score);
+            }
+            if (this.stopped) {
+                break;
+            }
+            previousScore = score;
+            // the next iteration searches this one's best move first
+            bestMove = rootMoves[this.rootBestIndex];
+            System.arraycopy(rootMoves, 0, rootMoves, 1, this.rootBestIndex);
+            rootMoves[0] = bestMove;
+            if (isHelper()) {
+                continue;
+            }
+            final long now = System.currentTimeMillis();
+            this.iterationNodes.add(this.nodeCount - iterationStartNodes);
+            this.iterationMillis.add(now - iterationStartTime);
+            iterationStartNodes = this.nodeCount;
+            iterationStartTime = now;
+            this.bestMoveSoFar = bestMove;
+            this.bestScore = searchBoard.getSideToMove().isWhite() ? score : -score;
+            this.principalVariation = principalVariation(searchBoard, PackedMove.fromMove(bestMove));
+            this.searchListener.iterationCompleted(progress(nodesSearched()));
+            // the next iteration would take several times as long as this one; don't start what can't finish
+            if (moveTimeMillis > 0 && System.currentTimeMillis() - startTime > moveTimeMillis / 2) {
+                break;
             }
         }
-        final float executionTime = (float) (System.currentTimeMillis() - startTime) / 1000;
+        return bestMove == null && numMoves > 0 ? rootMoves[0] : bestMove;
+    }
 
-        System.out.printf("Total time: %f sec\n", executionTime);
-        Table.get().progressBarPanel.setStringPainted(true);
-        Table.get().progressBarPanel.setString(String.valueOf(executionTime) + " sec");
-        return bestMove;
+    private boolean isHelper() {
+        return this.helperIndex > 0;
     }
 
-    private int max(Board board, int depth, int alpha, int beta) {
-        Collection<Move> moves = board.getCurrentPlayer().getLegalMoves();
-        if (depth == 0 || moves.size() == 0) {
-            return this.boardEvaluator.evaluate(board, depth);
+    /**
+     * Searches the root moves in order with a principal variation search, leaving the index of
+     * the best in rootBestIndex; the score is from the side to move's point of view.
+     */
+    private int searchRoot(MutableBoard board, Move[] rootMoves, int alpha, int beta) {
+        if (this.forkJoinPool != null) {
+            return searchRootInParallel(board, rootMoves, alpha, beta);
         }
-        int maxScore = Integer.MIN_VALUE;
-        for (Move move : moves) {
-            MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus() == MoveStatus.DONE) {
-                int currentScore = min(moveTransition.getBoard(), depth - 1, alpha, beta);
-                if (currentScore > maxScore) {
-                    maxScore = currentScore;
+        int bestScore = -INFINITY;
+        for (int i = 0; i < rootMoves.length; i++) {
+            final int move = PackedMove.fromMove(rootMoves[i]);
+            if (!isHelper()) {
+                rootMoveStarted(i, move);
+            }
+            final RootMoveEvent rootMoveEvent = EngineEvents.ENABLED ? new RootMoveEvent() : null;
+            final long startNodes = this.nodeCount;
+            if (rootMoveEvent != null) {
+                rootMoveEvent.begin();
+            }
+            board.makeMove(move);
+            final int score = searchChild(board, depth - 1, 1, alpha, beta, i == 0);
+            board.unmakeMove(move);
+            if (rootMoveEvent != null) {
+                commitRootMoveEvent(rootMoveEvent, move, i, score, startNodes);
+            }
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                this.rootBestIndex = i;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
                 }
-                if (currentScore > alpha) {
-                    alpha = currentScore;
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * Young brothers wait at the root: the first move is searched alone to set alpha, then the rest
+     * are searched at once on the fork-join pool, each against the best alpha any of them has found
+     * so far. The best move is picked the way the sequential search would, the highest score that was
+     * proven exactly, the earliest in the ordering on a tie. A later move can reach the best score first
+     * and make an earlier one fail low against it, so earlier moves that failed low against exactly that
+     * score are searched again to see whether they tie it.
+     */
+    private int searchRootInParallel(MutableBoard board, Move[] rootMoves, int alpha, int beta) {
+        final int firstMove = PackedMove.fromMove(rootMoves[0]);
+        rootMoveStarted(0, firstMove);
+        final RootMoveEvent firstMoveEvent = EngineEvents.ENABLED ? new RootMoveEvent() : null;
+        final long startNodes = this.nodeCount;
+        if (firstMoveEvent != null) {
+            firstMoveEvent.begin();
+        }
+        board.makeMove(firstMove);
+        final int firstScore = searchChild(board, depth - 1, 1, alpha, beta, true);
+        board.unmakeMove(firstMove);
+        if (firstMoveEvent != null) {
+            commitRootMoveEvent(firstMoveEvent, firstMove, 0, firstScore, startNodes);
+        }
+        this.rootBestIndex = 0;
+        if (this.stopped || firstScore >= beta || rootMoves.length == 1) {
+            return firstScore;
+        }
+
+        final AtomicInteger sharedAlpha = new AtomicInteger(Math.max(alpha, firstScore));
+        final int[] scores = new int[rootMoves.length];
+        final int[] searchAlphas = new int[rootMoves.length];
+        final boolean[] exact = new boolean[rootMoves.length];
+        final List<RecursiveAction> brothers = new ArrayList<>();
+        final AtomicInteger furthestStarted = new AtomicInteger();
+        final int iterationDepth = this.depth;
+        for (int i = 1; i < rootMoves.length; i++) {
+            final int index = i;
+            brothers.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    final AlphaBeta worker = forkJoinWorker();
+                    worker.depth = iterationDepth;
+                    worker.deadline = AlphaBeta.this.deadline;
+                    worker.stopped = AlphaBeta.this.stopSignal.get();
+                    final MutableBoard workerBoard = worker.forkJoinBoard;
+                    final int move = PackedMove.fromMove(rootMoves[index]);
+                    final int searchAlpha = sharedAlpha.get();
+                    searchAlphas[index] = searchAlpha;
+                    if (worker.stopped || searchAlpha >= beta) {
+                        scores[index] = -INFINITY;
+                        return;
+                    }
+                    furthestStarted.accumulateAndGet(index, Math::max);
+                    final RootMoveEvent rootMoveEvent = EngineEvents.ENABLED ? new RootMoveEvent() : null;
+                    final long startNodes = worker.nodeCount;
+                    if (rootMoveEvent != null) {
+                        rootMoveEvent.begin();
+                    }
+                    workerBoard.makeMove(move);
+                    int score = worker.searchChild(workerBoard, iterationDepth - 1, 1, searchAlpha, beta, false);
+                    workerBoard.unmakeMove(move);
+                    if (rootMoveEvent != null) {
+                        worker.commitRootMoveEvent(rootMoveEvent, move, index, score, startNodes);
+                    }
+                    scores[index] = score;
+                    exact[index] = !worker.stopped && score > searchAlpha;
+                    if (exact[index]) {
+                        sharedAlpha.accumulateAndGet(score, Math::max);
+                    }
                 }
-                if (beta <= alpha) {
-                    break; // cut off beta
+            });
+        }
+        awaitBrothers(this.forkJoinPool.submit(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(brothers);
+            }
+        }), rootMoves, furthestStarted);
+        if (this.stopSignal.get()) {
+            this.stopped = true;
+            return 0;
+        }
+
+        int bestScore = firstScore;
+        int bestBound = firstScore;
+        for (int i = 1; i < rootMoves.length; i++) {
+            if (exact[i] && scores[i] > bestScore) {
+                bestScore = scores[i];
+                this.rootBestIndex = i;
+            }
+            bestBound = Math.max(bestBound, scores[i]);
+        }
+        // an earlier move that failed low against the best score, because a later one raised alpha to it first,
+        // may tie it; the sequential search would have taken the earlier one, so check them in order
+        for (int i = 1; i < this.rootBestIndex; i++) {
+            if (!exact[i] && searchAlphas[i] == bestScore && scores[i] > -INFINITY) {
+                final int move = PackedMove.fromMove(rootMoves[i]);
+                board.makeMove(move);
+                final int score = searchChild(board, depth - 1, 1, bestScore - 1, bestScore, false);
+                board.unmakeMove(move);
+                if (this.stopped) {
+                    return 0;
+                }
+                if (score >= bestScore) {
+                    this.rootBestIndex = i;
+                    break;
                 }
             }
         }
-        return maxScore;
+        // with nothing above alpha, report the highest bound like the sequential search would, to widen the window by
+        return this.rootBestIndex > 0 || firstScore > alpha ? bestScore : bestBound;
     }
 
-    private int min(Board board, int depth, int alpha, int beta) {
-        Collection<Move> moves = board.getCurrentPlayer().getLegalMoves();
-        if (depth == 0 || moves.size() == 0) {
-            return this.boardEvaluator.evaluate(board, depth);
+    /**
+     * Negamax alpha-beta with principal variation search: scores are from the side to move's point of view,
+     * the first move gets the full window, and every later one a zero window that only asks whether it
+     * beats the best so far. The few that do are searched again with the full window.
+     */
+    private int search(MutableBoard board, int depth, int ply, int alpha, int beta, boolean allowNullMove) {
+        if (depth <= 0) {
+            return quiesce(board, ply, alpha, beta);
+        }
+        if (++this.nodeCount % LIMIT_CHECK_INTERVAL == 0) {
+            checkLimits();
+        }
+        final long key = board.getZobristKey();
+        final long entry = this.transpositionTable.probe(key);
+        this.transpositionTableProbes++;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            this.transpositionTableHits++;
+        }
+        if (entry != TranspositionTable.NO_ENTRY && TranspositionTable.getDepth(entry) >= depth) {
+            final int score = scoreFromTable(TranspositionTable.getScore(entry), ply);
+            final int bound = TranspositionTable.getBound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || bound == TranspositionTable.LOWER_BOUND && score >= beta
+                    || bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+                return score;
+            }
+        }
+        final boolean inCheck = board.isInCheck();
+        // the selective techniques below are only trusted away from the principal variation and out of check
+        final boolean prunable = beta - alpha == 1 && !inCheck;
+        final int staticScore = prunable ? evaluate(board) : 0;
+
+        if (prunable && this.razoring && depth <= RAZORING_MAX_DEPTH
+                && staticScore + this.razorMargin * depth <= alpha) {
+            // so far below alpha that only a capture could help; let quiescence decide
+            final int score = quiesce(board, ply, alpha, alpha + 1);
+            if (score <= alpha) {
+                return score;
+            }
+        }
+
+        if (prunable && this.nullMovePruning && allowNullMove && depth >= 2 && staticScore >= beta
+                && board.hasNonPawnMaterial(board.getSideToMove())) {
+            // if passing still holds beta, a real move will too, unless it's zugzwang, which pawn endings are full of
+            final int reduction = this.nullMoveReduction + (depth > 6 ? 1 : 0);
+            board.makeNullMove();
+            final int score = -search(board, depth - 1 - reduction, ply + 1, -beta, -beta + 1, false);
+            board.unmakeNullMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score >= beta) {
+                return beta;
+            }
+        }
+
+        final MoveList moves = moveList(ply);
+        generateMoves(board, moves, false, MoveGenerationEvent.SEARCH);
+        if (moves.isEmpty()) {
+            return inCheck ? -MATE + ply : 0;
         }
-        int minScore = Integer.MAX_VALUE;
-        for (Move move : moves) {
-            MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus() == MoveStatus.DONE) {
-                int currentScore = max(moveTransition.getBoard(), depth - 1, alpha, beta);
-                if (currentScore < minScore) {
-                    minScore = currentScore;
+        this.moveOrderer.orderMoves(moves, ply,
+                entry != TranspositionTable.NO_ENTRY ? TranspositionTable.getMove(entry) : PackedMove.NO_MOVE);
+        // near the leaves, quiet moves can't make up a large deficit before quiescence takes over
+        final boolean futile = prunable && this.futilityPruning && depth <= FUTILITY_MAX_DEPTH
+                && staticScore + this.futilityMargin * depth <= alpha;
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = PackedMove.NO_MOVE;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            final boolean quiet = !PackedMove.isCapture(move) && !PackedMove.isPromotion(move);
+            board.makeMove(move);
+            final boolean givesCheck = board.isInCheck();
+            if (futile && i > 0 && quiet && !givesCheck) {
+                board.unmakeMove(move);
+                continue;
+            }
+            int score;
+            if (this.lateMoveReductions && i >= this.lateMoveReductionMoveCount && depth >= this.lateMoveReductionDepth
+                    && quiet && !inCheck && !givesCheck) {
+                // moves this far down the ordering rarely matter; look at them shallower first
+                final int reduction = i >= 3 * this.lateMoveReductionMoveCount && depth > 4 ? 2 : 1;
+                score = -search(board, depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, true);
+                if (score > alpha && !this.stopped) {
+                    score = searchChild(board, depth - 1, ply + 1, alpha, beta, false);
                 }
-                if (currentScore < beta) {
-                    beta = currentScore;
+            } else {
+                score = searchChild(board, depth - 1, ply + 1, alpha, beta, i == 0);
+            }
+            board.unmakeMove(move);
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        this.moveOrderer.recordCutoff(move, ply, depth);
+                        this.betaCutoffs++;
+                        if (i == 0) {
+                            this.firstMoveCutoffs++;
+                        }
+                        break;
+                    }
                 }
-                if (beta <= alpha) {
-                    break;  // cut off alpha
+            }
+        }
+        this.transpositionTable.store(key, bestMove, scoreToTable(bestScore, ply), depth,
+                bestScore <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                        : bestScore >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT);
+        return bestScore;
+    }
+
+    /**
+     * Score of the position a move has just been played into, from the mover's point of view.
+     */
+    private int searchChild(MutableBoard board, int depth, int ply, int alpha, int beta, boolean firstMove) {
+        if (firstMove) {
+            return -search(board, depth, ply, -beta, -alpha, true);
+        }
+        final int score = -search(board, depth, ply, -alpha - 1, -alpha, true);
+        if (score > alpha && score < beta && !this.stopped) {
+            return -search(board, depth, ply, -beta, -alpha, true);
+        }
+        return score;
+    }
+
+    /**
+     * Searches captures only from a leaf, until the position is quiet, so that the evaluation is never
+     * taken in the middle of an exchange. The side to move may stand pat on the static evaluation
+     * rather than capture, and captures that could not bring the score back to alpha even winning
+     * the piece for free are skipped (delta pruning). In check there is no standing pat: every
+     * evasion is searched, which also finds mates.
+     */
+    private int quiesce(MutableBoard board, int ply, int alpha, int beta) {
+        if (++this.nodeCount % LIMIT_CHECK_INTERVAL == 0) {
+            checkLimits();
+        }
+        this.quiescenceNodeCount++;
+        final boolean inCheck = board.isInCheck();
+        final MoveList moves = moveList(ply);
+        int standPat = -INFINITY;
+        if (inCheck) {
+            generateMoves(board, moves, false, MoveGenerationEvent.QUIESCENCE_EVASIONS);
+            if (moves.isEmpty()) {
+                return -MATE + ply;
+            }
+            if (ply >= MutableBoard.MAX_PLY - 1) {
+                return evaluate(board);
+            }
+        } else {
+            standPat = evaluate(board);
+            if (standPat >= beta || ply >= MutableBoard.MAX_PLY - 1) {
+                return standPat;
+            }
+            alpha = Math.max(alpha, standPat);
+            generateMoves(board, moves, true, MoveGenerationEvent.QUIESCENCE);
+        }
+        this.moveOrderer.orderMoves(moves, ply, PackedMove.NO_MOVE);
+        int bestScore = standPat;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (!inCheck && standPat + materialGain(move) + DELTA_MARGIN <= alpha) {
+                continue;
+            }
+            board.makeMove(move);
+            final int score = -quiesce(board, ply + 1, -beta, -alpha);
+            board.unmakeMove(move);
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * Generates all moves, or captures only, timing one node in every
+     * EngineEvents.MOVE_GENERATION_SAMPLE_INTERVAL when flight recorder events are on.
+     */
+    private void generateMoves(MutableBoard board, MoveList moves, boolean capturesOnly, String nodeType) {
+        final MoveGenerationEvent event = EngineEvents.ENABLED
+                && (this.nodeCount & (EngineEvents.MOVE_GENERATION_SAMPLE_INTERVAL - 1)) == 0 ?
+                new MoveGenerationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        if (capturesOnly) {
+            board.generateCaptures(moves);
+        } else {
+            board.generateMoves(moves);
+        }
+        if (event != null) {
+            event.nodeType = nodeType;
+            event.moves = moves.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * The evaluator scores for white; negamax wants the side to move's point of view.
+     */
+    private int evaluate(MutableBoard board) {
+        final int score = this.boardEvaluator.evaluate(board);
+        return board.getSideToMove().isWhite() ? score : -score;
+    }
+
+    /**
+     * A mate score as the distance from the position being stored, so that it stays true
+     * at whatever ply the position is reached again.
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score > MATE_BOUND) {
+            return score + ply;
+        }
+        return score < -MATE_BOUND ? score - ply : score;
+    }
+
+    /**
+     * A mate score from the table as the distance from the root again.
+     */
+    private static int scoreFromTable(int score, int ply) {
+        if (score > MATE_BOUND) {
+            return score - ply;
+        }
+        return score < -MATE_BOUND ? score + ply : score;
+    }
+
+    /**
+     * Material the move wins outright: the captured piece, plus what a pawn promotes to less the pawn.
+     */
+    private static int materialGain(final int move) {
+        int gain = PackedMove.isCapture(move) ?
+                PIECE_TYPES[PackedMove.getCapturedPiece(move) % 6].getPieceValue() : 0;
+        if (PackedMove.isPromotion(move)) {
+            gain += PIECE_TYPES[PackedMove.getPromotion(move)].getPieceValue() - Piece.PieceType.PAWN.getPieceValue();
+        }
+        return gain;
+    }
+
+    /**
+     * Waits for the brothers on the pool. The main search counts no nodes meanwhile, so it reports
+     * the furthest root move the pool has started once every progress interval instead.
+     */
+    private void awaitBrothers(final ForkJoinTask<?> brothers, final Move[] rootMoves, final AtomicInteger furthestStarted) {
+        try {
+            while (true) {
+                try {
+                    brothers.get(Math.max(this.progressIntervalMillis, 1), TimeUnit.MILLISECONDS);
+                    return;
+                } catch (final TimeoutException e) {
+                    final int index = furthestStarted.get();
+                    rootMoveStarted(index, PackedMove.fromMove(rootMoves[index]));
                 }
             }
+        } catch (final InterruptedException e) {
+            // the pool's threads can't be interrupted from here; stop them and keep the interrupt for the caller
+            this.stopSignal.set(true);
+            brothers.quietlyJoin();
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            throw new RuntimeException("Fork-join root search failed", e.getCause());
+        }
+    }
+
+    /**
+     * The calling pool thread's worker for the current search, made the first time the thread asks.
+     */
+    private AlphaBeta forkJoinWorker() {
+        final Map<Thread, AlphaBeta> workers = this.forkJoinWorkers;
+        return workers.computeIfAbsent(Thread.currentThread(), thread -> {
+            final AlphaBeta worker = new AlphaBeta(this, workers.size() + 1);
+            worker.forkJoinBoard = new MutableBoard(this.forkJoinBoard);
+            return worker;
+        });
+    }
+
+    /**
+     * Stops the search once it is out of time or nodes. The first iteration always runs to the end,
+     * so there is a move to return however small the budget. Lazy SMP helpers have no budget of their own
+     * and stop when the main search is done; fork-join workers keep to the main search's clock, and share
+     * its node budget with it, which may be overrun by up to LIMIT_CHECK_INTERVAL nodes per pool thread.
+     */
+    private void checkLimits() {
+        if (!isHelper()) {
+            reportProgress();
+        }
+        final long nodes = this.forkJoinNodeCount != null ?
+                this.forkJoinNodeCount.addAndGet(LIMIT_CHECK_INTERVAL) : this.nodeCount;
+        if (this.stopSignal.get()) {
+            this.stopped = true;
+        } else if (this.depth > 1 && (this.nodeLimit > 0 && nodes >= this.nodeLimit
+                || System.currentTimeMillis() >= this.deadline)) {
+            this.stopped = true;
+            this.stopSignal.set(true);
+        }
+    }
+
+    /**
+     * Totals the counters of the main search and every helper or worker that took part in it.
+     */
+    private SearchStatistics statistics(final Move bestMove, final List<AlphaBeta> searchers, final long elapsedMillis) {
+        long nodes = 0;
+        long quiescenceNodes = 0;
+        long betaCutoffs = 0;
+        long firstMoveCutoffs = 0;
+        long transpositionTableProbes = 0;
+        long transpositionTableHits = 0;
+        for (final AlphaBeta searcher : searchers) {
+            nodes += searcher.nodeCount;
+            quiescenceNodes += searcher.quiescenceNodeCount;
+            betaCutoffs += searcher.betaCutoffs;
+            firstMoveCutoffs += searcher.firstMoveCutoffs;
+            transpositionTableProbes += searcher.transpositionTableProbes;
+            transpositionTableHits += searcher.transpositionTableHits;
+        }
+        // the main search starts at depth 1, so it has completed one iteration per depth
+        return new SearchStatistics(bestMove, this.iterationNodes.size(), nodes,
+                quiescenceNodes, betaCutoffs, firstMoveCutoffs, transpositionTableProbes, transpositionTableHits,
+                elapsedMillis, this.iterationNodes, this.iterationMillis);
+    }
+
+    private void commitIterationEvent(final SearchIterationEvent event, final Move[] rootMoves, final int score) {
+        event.depth = this.depth;
+        event.threadIndex = this.helperIndex;
+        event.completed = !this.stopped;
+        if (event.completed) {
+            event.bestMove = PackedMove.toString(PackedMove.fromMove(rootMoves[this.rootBestIndex]));
+            event.score = score;
+        }
+        event.nodes = this.nodeCount;
+        event.commit();
+    }
+
+    private void commitRootMoveEvent(final RootMoveEvent event, final int move, final int index, final int score,
+                                     final long startNodes) {
+        event.depth = this.depth;
+        event.threadIndex = this.helperIndex;
+        event.move = PackedMove.toString(move);
+        event.moveNumber = index + 1;
+        event.score = score;
+        event.nodes = this.nodeCount - startNodes;
+        event.commit();
+    }
+
+    private void rootMoveStarted(final int index, final int move) {
+        this.currentRootMoveNumber = index + 1;
+        this.currentRootMove = PackedMove.toString(move);
+        reportProgress();
+    }
+
+    /**
+     * Sends a progress event, unless one went out less than the progress interval ago.
+     */
+    private void reportProgress() {
+        final long now = System.currentTimeMillis();
+        if (now - this.lastProgressTime >= this.progressIntervalMillis) {
+            this.lastProgressTime = now;
+            this.searchListener.progressUpdated(progress(nodesSearched()));
+        }
+    }
+
+    /**
+     * Nodes searched so far; with a fork-join pool, the workers' too, to within LIMIT_CHECK_INTERVAL per thread.
+     */
+    private long nodesSearched() {
+        return this.forkJoinNodeCount != null ? Math.max(this.forkJoinNodeCount.get(), this.nodeCount) : this.nodeCount;
+    }
+
+    private SearchProgress progress(final long nodes) {
+        return new SearchProgress(this.depth, this.currentRootMoveNumber, this.rootMoveCount, this.currentRootMove,
+                nodes, System.currentTimeMillis() - this.searchStartTime, this.bestScore, this.bestMoveSoFar,
+                this.principalVariation);
+    }
+
+    /**
+     * The best move followed by the best moves the transposition table has for the positions after it,
+     * for as long as they are legal and no further than the iteration's depth.
+     */
+    private List<String> principalVariation(final MutableBoard root, final int bestMove) {
+        final List<String> principalVariation = new ArrayList<>();
+        final MutableBoard board = new MutableBoard(root);
+        final MoveList moves = new MoveList();
+        int move = bestMove;
+        while (move != PackedMove.NO_MOVE && principalVariation.size() < this.depth && isLegal(board, moves, move)) {
+            principalVariation.add(PackedMove.toString(move));
+            board.makeMove(move);
+            final long entry = this.transpositionTable.probe(board.getZobristKey());
+            move = entry != TranspositionTable.NO_ENTRY ? TranspositionTable.getMove(entry) : PackedMove.NO_MOVE;
+        }
+        return principalVariation;
+    }
+
+    private static boolean isLegal(final MutableBoard board, final MoveList moves, final int move) {
+        board.generateMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Move list reused by every node at the ply.
+     */
+    private MoveList moveList(final int ply) {
+        if (this.moveLists[ply] == null) {
+            this.moveLists[ply] = new MoveList();
+        }
+        return this.moveLists[ply];
+    }
+
+    public static class Builder {
+        private int searchDepth;
+        private long moveTimeMillis;
+        private long nodeLimit;
+        private int transpositionTableSizeMB;
+        private TranspositionTable transpositionTable;
+        private boolean nullMovePruning;
+        private int nullMoveReduction;
+        private boolean lateMoveReductions;
+        private int lateMoveReductionDepth;
+        private int lateMoveReductionMoveCount;
+        private boolean futilityPruning;
+        private int futilityMargin;
+        private boolean razoring;
+        private int razorMargin;
+        private int threads;
+        private ForkJoinPool forkJoinPool;
+        private SearchListener searchListener;
+        private long progressIntervalMillis;
+
+        public Builder() {
+            this.searchDepth = 4;
+            this.moveTimeMillis = 0;
+            this.nodeLimit = 0;
+            this.transpositionTableSizeMB = TranspositionTable.DEFAULT_SIZE_MB;
+            this.nullMovePruning = true;
+            this.nullMoveReduction = 2;
+            this.lateMoveReductions = true;
+            this.lateMoveReductionDepth = 3;
+            this.lateMoveReductionMoveCount = 4;
+            this.futilityPruning = true;
+            this.futilityMargin = 150;
+            this.razoring = true;
+            this.razorMargin = 300;
+            this.threads = 1;
+            this.searchListener = SearchListener.NONE;
+            this.progressIntervalMillis = 100;
+        }
+
+        public Builder setSearchDepth(final int searchDepth) {
+            this.searchDepth = searchDepth;
+            return this;
+        }
+
+        /**
+         * Time to stop searching after, in milliseconds; 0 searches to the full search depth however long it takes.
+         */
+        public Builder setMoveTimeMillis(final long moveTimeMillis) {
+            this.moveTimeMillis = moveTimeMillis;
+            return this;
+        }
+
+        /**
+         * Number of nodes to stop searching after; 0 for no limit.
+         */
+        public Builder setNodeLimit(final long nodeLimit) {
+            this.nodeLimit = nodeLimit;
+            return this;
         }
 
-        return minScore;
+        /**
+         * Size of the table the search allocates for itself, unless one is passed in.
+         */
+        public Builder setTranspositionTableSizeMB(final int transpositionTableSizeMB) {
+            this.transpositionTableSizeMB = transpositionTableSizeMB;
+            return this;
+        }
+
+        /**
+         * Table to share with other searches, e.g. so results carry over from one move to the next.
+         */
+        public Builder setTranspositionTable(final TranspositionTable transpositionTable) {
+            this.transpositionTable = transpositionTable;
+            return this;
+        }
+
+        /**
+         * Whether to try passing the turn first, and skip the node if even that holds beta.
+         * Never done in check or with only pawns left, where passing would often be the best move.
+         */
+        public Builder setNullMovePruning(final boolean nullMovePruning) {
+            this.nullMovePruning = nullMovePruning;
+            return this;
+        }
+
+        /**
+         * How much shallower than a real move the null move is searched; one more beyond depth 6.
+         */
+        public Builder setNullMoveReduction(final int nullMoveReduction) {
+            this.nullMoveReduction = nullMoveReduction;
+            return this;
+        }
+
+        /**
+         * Whether to search quiet moves late in the ordering a ply shallower, two much later on,
+         * and only search them fully if they beat alpha anyway.
+         */
+        public Builder setLateMoveReductions(final boolean lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        /**
+         * Remaining depth from which moves are reduced.
+         */
+        public Builder setLateMoveReductionDepth(final int lateMoveReductionDepth) {
+            this.lateMoveReductionDepth = lateMoveReductionDepth;
+            return this;
+        }
+
+        /**
+         * Number of moves at each node that are always searched to full depth.
+         */
+        public Builder setLateMoveReductionMoveCount(final int lateMoveReductionMoveCount) {
+            this.lateMoveReductionMoveCount = lateMoveReductionMoveCount;
+            return this;
+        }
+
+        /**
+         * Whether to skip quiet moves in the last two plies when the position is too far below alpha.
+         */
+        public Builder setFutilityPruning(final boolean futilityPruning) {
+            this.futilityPruning = futilityPruning;
+            return this;
+        }
+
+        /**
+         * How far below alpha, per remaining ply, the static evaluation must be for quiet moves to be futile.
+         */
+        public Builder setFutilityMargin(final int futilityMargin) {
+            this.futilityMargin = futilityMargin;
+            return this;
+        }
+
+        /**
+         * Whether to drop into quiescence search in the last two plies when the position is far below alpha.
+         */
+        public Builder setRazoring(final boolean razoring) {
+            this.razoring = razoring;
+            return this;
+        }
+
+        /**
+         * How far below alpha, per remaining ply, the static evaluation must be to razor.
+         */
+        public Builder setRazorMargin(final int razorMargin) {
+            this.razorMargin = razorMargin;
+            return this;
+        }
+
+        /**
+         * Number of threads to search with. Beyond the first, each is a Lazy SMP helper searching
+         * the same root and sharing the transposition table; the move still comes from the first.
+         */
+        public Builder setThreads(final int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Pool to search the root moves in parallel on, young brothers wait style: the first move alone,
+         * then all the rest at once. Unlike Lazy SMP it picks the same move as a single thread would, ties
+         * included, as long as null-move pruning, futility pruning, razoring and late-move reductions are off.
+         * The first three depend on the window each move is searched with, and the reductions on move ordering,
+         * which each pool thread learns from whichever moves it happened to search; with any of them on,
+         * the move may differ from the sequential search's, and from one run to the next.
+         */
+        public Builder setForkJoinPool(final ForkJoinPool forkJoinPool) {
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
+        /**
+         * Listener to report the search's progress to, on the search thread.
+         */
+        public Builder setSearchListener(final SearchListener searchListener) {
+            this.searchListener = searchListener;
+            return this;
+        }
+
+        /**
+         * Least time between two progress events.
+         */
+        public Builder setProgressIntervalMillis(final long progressIntervalMillis) {
+            this.progressIntervalMillis = progressIntervalMillis;
+            return this;
+        }
+
+        public AlphaBeta build() {
+            return new AlphaBeta(this);
+        }
     }
 }
@@ -1,7 +1,10 @@
 package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.MutableBoard;
 
 public interface BoardEvaluator {
-    int evaluate(Board board, int depth);
+    int evaluate(Board board);
+
+    int evaluate(MutableBoard board);
 }
@@ -2,18 +2,19 @@ package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveStatus;
-import com.chess.engine.player.MoveTransition;
-
-import java.util.Collection;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
 
 public class MiniMax implements MoveStrategy {
     private final BoardEvaluator boardEvaluator;
     private final int depth;
+    private final MoveList[] moveLists;
 
     public MiniMax(int searchDepth) {
         this.boardEvaluator = new StandardBoardEvaluator();
         this.depth = searchDepth;
+        this.moveLists = new MoveList[MutableBoard.MAX_PLY];
 
     }
 
@@ -26,6 +27,7 @@ public class MiniMax implements MoveStrategy {
     public Move execute(Board board) {
         final long startTime = System.currentTimeMillis();
 
+        final MutableBoard searchBoard = new MutableBoard(board);
         Move bestMove = null;
 
         int highestValue = Integer.MIN_VALUE;
@@ -35,19 +37,19 @@ public class MiniMax implements MoveStrategy {
         System.out.println(board.getCurrentPlayer() + " thinking with DEPTH = " + depth);
         /*int numMoves = board.getCurrentPlayer().getLegalMoves().size();*/
         for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus() == MoveStatus.DONE) {
-                currentValue = board.getCurrentPlayer().getAlliance().isWhite() ?
-                        min(moveTransition.getBoard(), depth - 1)
-                        :
-                        max(moveTransition.getBoard(), depth - 1);
-                if (board.getCurrentPlayer().getAlliance().isWhite() && currentValue >= highestValue) {
-                    highestValue = currentValue;
-                    bestMove = move;
-                } else if (board.getCurrentPlayer().getAlliance().isBlack() && currentValue <= lowestValue) {
-                    lowestValue = currentValue;
-                    bestMove = move;
-                }
+            final int searchMove = PackedMove.fromMove(move);
+            searchBoard.makeMove(searchMove);
+            currentValue = board.getCurrentPlayer().getAlliance().isWhite() ?
+                    min(searchBoard, depth - 1)
+                    :
+                    max(searchBoard, depth - 1);
+            searchBoard.unmakeMove(searchMove);
+            if (board.getCurrentPlayer().getAlliance().isWhite() && currentValue >= highestValue) {
+                highestValue = currentValue;
+                bestMove = move;
+            } else if (board.getCurrentPlayer().getAlliance().isBlack() && currentValue <= lowestValue) {
+                lowestValue = currentValue;
+                bestMove = move;
             }
         }
 
@@ -57,39 +59,69 @@ public class MiniMax implements MoveStrategy {
         return bestMove;
     }
 
-    private int min(Board board, int depth) {
-        Collection<Move> moves = board.getCurrentPlayer().getLegalMoves();
-        if (depth == 0 || moves.size() == 0) {
-            return this.boardEvaluator.evaluate(board, depth);
+    private int min(MutableBoard board, int depth) {
+        if (depth == 0) {
+            return this.boardEvaluator.evaluate(board);
+        }
+        final MoveList moves = moveList(depth);
+        board.generateMoves(moves);
+        if (moves.isEmpty()) {
+            return noMovesScore(board, depth);
         }
         int lowestValue = Integer.MAX_VALUE;
-        for (Move move : moves) {
-            MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus() == MoveStatus.DONE) {
-                int currentValue = max(moveTransition.getBoard(), depth - 1);
-                if (currentValue <= lowestValue) {
-                    lowestValue = currentValue;
-                }
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            board.makeMove(move);
+            final int currentValue = max(board, depth - 1);
+            board.unmakeMove(move);
+            if (currentValue <= lowestValue) {
+                lowestValue = currentValue;
             }
         }
         return lowestValue;
     }
 
-    private int max(Board board, int depth) {
-        Collection<Move> moves = board.getCurrentPlayer().getLegalMoves();
-        if (depth == 0 || moves.size() == 0) {
-            return this.boardEvaluator.evaluate(board, depth);
+    private int max(MutableBoard board, int depth) {
+        if (depth == 0) {
+            return this.boardEvaluator.evaluate(board);
+        }
+        final MoveList moves = moveList(depth);
+        board.generateMoves(moves);
+        if (moves.isEmpty()) {
+            return noMovesScore(board, depth);
         }
         int highestValue = Integer.MIN_VALUE;
-        for (Move move : moves) {
-            MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus() == MoveStatus.DONE) {
-                int currentValue = min(moveTransition.getBoard(), depth - 1);
-                if (currentValue >= highestValue) {
-                    highestValue = currentValue;
-                }
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            board.makeMove(move);
+            final int currentValue = min(board, depth - 1);
+            board.unmakeMove(move);
+            if (currentValue >= highestValue) {
+                highestValue = currentValue;
             }
         }
         return highestValue;
     }
+
+    /**
+     * Checkmate or stalemate, scored for white; the nearer a mate, the more it counts.
+     */
+    private int noMovesScore(MutableBoard board, int depth) {
+        if (!board.isInCheck()) {
+            return 0;
+        }
+        final int mated = -AlphaBeta.MATE + (this.depth - depth);
+        return board.getSideToMove().isWhite() ? mated : -mated;
+    }
+
+    /**
+     * Move list reused by every node at the ply this depth is searched from.
+     */
+    private MoveList moveList(final int depth) {
+        final int ply = this.depth - depth;
+        if (this.moveLists[ply] == null) {
+            this.moveLists[ply] = new MoveList();
+        }
+        return this.moveLists[ply];
+    }
 }
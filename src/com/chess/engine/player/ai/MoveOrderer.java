@@ -0,0 +1,119 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.pieces.Piece;
+
+import java.util.Arrays;
+
+public final class MoveOrderer {
+    /**
+     * Sorts a node's moves so the ones likeliest to cause a cutoff are searched first:
+     *
+     * 1. the hash move, the best move the transposition table has for the position
+     * 2. captures and promotions, most valuable victim first, then least valuable attacker (MVV-LVA)
+     * 3. killer moves, the last two quiet moves that caused a cutoff at the same ply
+     * 4. the remaining quiet moves, by how often and how deep they caused cutoffs anywhere (history)
+     *
+     * Killers and history carry over between the iterations of a search and are cleared by newSearch.
+     */
+
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 27;
+    // history scores are halved whenever one would pass this, to stay below the killers
+    private static final int MAX_HISTORY = 1 << 26;
+
+    private static final int KILLERS_PER_PLY = 2;
+
+    private final int[][] killers;
+    private final int[][] history;
+    private final int[][] scores;
+
+    public MoveOrderer() {
+        this.killers = new int[MutableBoard.MAX_PLY][KILLERS_PER_PLY];
+        this.history = new int[12][64];
+        this.scores = new int[MutableBoard.MAX_PLY][MoveList.MAX_MOVES];
+    }
+
+    public void newSearch() {
+        for (final int[] plyKillers : this.killers) {
+            Arrays.fill(plyKillers, PackedMove.NO_MOVE);
+        }
+        for (final int[] pieceHistory : this.history) {
+            Arrays.fill(pieceHistory, 0);
+        }
+    }
+
+    /**
+     * Sorts the moves generated at the given ply best first.
+     */
+    public void orderMoves(final MoveList moves, final int ply, final int hashMove) {
+        final int[] moveScores = this.scores[ply];
+        final int[] plyKillers = this.killers[ply];
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (move == hashMove) {
+                moveScores[i] = HASH_MOVE_SCORE;
+            } else if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+                moveScores[i] = CAPTURE_SCORE + mvvLva(move);
+            } else if (move == plyKillers[0]) {
+                moveScores[i] = KILLER_SCORE + 1;
+            } else if (move == plyKillers[1]) {
+                moveScores[i] = KILLER_SCORE;
+            } else {
+                moveScores[i] = this.history[PackedMove.getPiece(move)][PackedMove.getTo(move)];
+            }
+        }
+        // insertion sort; move lists are short and usually partly in order already
+        for (int i = 1; i < moves.size(); i++) {
+            final int score = moveScores[i];
+            int j = i;
+            while (j > 0 && moveScores[j - 1] < score) {
+                moveScores[j] = moveScores[j - 1];
+                moves.swap(j, j - 1);
+                j--;
+            }
+            moveScores[j] = score;
+        }
+    }
+
+    /**
+     * Records a move that caused a beta cutoff. Captures and promotions are ordered well enough
+     * by MVV-LVA, so only quiet moves are remembered.
+     */
+    public void recordCutoff(final int move, final int ply, final int depth) {
+        if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+            return;
+        }
+        final int[] plyKillers = this.killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        final int[] pieceHistory = this.history[PackedMove.getPiece(move)];
+        final int to = PackedMove.getTo(move);
+        pieceHistory[to] += depth * depth;
+        if (pieceHistory[to] > MAX_HISTORY) {
+            for (final int[] scores : this.history) {
+                for (int square = 0; square < scores.length; square++) {
+                    scores[square] /= 2;
+                }
+            }
+        }
+    }
+
+    private static int mvvLva(final int move) {
+        final int victimValue = PackedMove.isCapture(move) ?
+                PIECE_TYPES[PackedMove.getCapturedPiece(move) % 6].getPieceValue() : 0;
+        final int promotionValue = PackedMove.isPromotion(move) ?
+                PIECE_TYPES[PackedMove.getPromotion(move)].getPieceValue() : 0;
+        final int attackerValue = PIECE_TYPES[PackedMove.getPiece(move) % 6].getPieceValue();
+        // any victim outranks any attacker: the king's 10000 only matters among equal victims
+        return (victimValue + promotionValue) * 16 - attackerValue / 100;
+    }
+
+}
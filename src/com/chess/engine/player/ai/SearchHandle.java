@@ -0,0 +1,89 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public final class SearchHandle implements Future<Move> {
+    /**
+     * A search running on its own thread, started by AlphaBeta.executeAsync.
+     *
+     * stop() ends the search early and still delivers the best move found so far; cancel() ends it
+     * with no result, and without telling its listener or SearchMetrics. Either way the search notices
+     * within 1024 nodes and its thread exits, and close() waits for that, so an abandoned search
+     * doesn't keep a core busy.
+     */
+
+    private final AlphaBeta search;
+    // completed by the search thread with its own search's statistics, which carry the best move
+    private final CompletableFuture<SearchStatistics> result;
+    private final Thread thread;
+
+    SearchHandle(final AlphaBeta search, final Thread thread, final CompletableFuture<SearchStatistics> result) {
+        this.search = search;
+        this.thread = thread;
+        this.result = result;
+    }
+
+    /**
+     * Best move of the deepest iteration completed so far, or null before the first one completes.
+     */
+    public Move getBestMoveSoFar() {
+        return this.search.getBestMoveSoFar();
+    }
+
+    /**
+     * Statistics of the search once get() has its move, or null before.
+     */
+    public SearchStatistics getStatistics() {
+        return this.result.isDone() && !this.result.isCompletedExceptionally() ? this.result.join() : null;
+    }
+
+    /**
+     * Asks the search to finish now; get() then returns the best move so far.
+     */
+    public void stop() {
+        this.search.stop();
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        final boolean cancelled = this.result.cancel(mayInterruptIfRunning);
+        this.search.stop();
+        return cancelled;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return this.result.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.result.isDone();
+    }
+
+    @Override
+    public Move get() throws InterruptedException, ExecutionException {
+        return this.result.get().getBestMove();
+    }
+
+    @Override
+    public Move get(final long timeout, final TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return this.result.get(timeout, unit).getBestMove();
+    }
+
+    /**
+     * Cancels the search if it is still running and waits for its thread to exit.
+     */
+    public void close() throws InterruptedException {
+        cancel(false);
+        this.thread.join();
+    }
+
+}
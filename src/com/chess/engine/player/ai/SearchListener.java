@@ -0,0 +1,24 @@
+package com.chess.engine.player.ai;
+
+public interface SearchListener {
+    /**
+     * Receives AlphaBeta's progress, on the search thread: implementations must return quickly,
+     * and hand the event to another thread (see SwingSearchListener) for anything slow.
+     * Progress events come at most once per progress interval; the others come once per iteration or search.
+     */
+
+    SearchListener NONE = new SearchListener() {
+    };
+
+    default void searchStarted(SearchProgress progress) {
+    }
+
+    default void progressUpdated(SearchProgress progress) {
+    }
+
+    default void iterationCompleted(SearchProgress progress) {
+    }
+
+    default void searchFinished(SearchProgress progress) {
+    }
+}
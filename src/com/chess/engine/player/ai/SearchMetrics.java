@@ -0,0 +1,178 @@
+package com.chess.engine.player.ai;
+
+import com.google.common.primitives.Longs;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+public final class SearchMetrics implements SearchMetricsMBean {
+    /**
+     * Running totals of every AlphaBeta search in the JVM, published to the platform MBean server
+     * under OBJECT_NAME so they can be watched with JConsole or any other JMX client.
+     *
+     * Searches add their statistics once, when they finish; nothing here is touched while they run.
+     * If the name is taken, e.g. by a copy of the engine loaded by another class loader, the totals
+     * are still kept and readable through get(), just not over JMX.
+     */
+
+    public static final String OBJECT_NAME = "com.chess.engine:type=SearchMetrics";
+
+    private static final SearchMetrics INSTANCE = new SearchMetrics();
+
+    private static final boolean REGISTERED = register();
+
+    private static boolean register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            return true;
+        } catch (final JMException | SecurityException e) {
+            // metrics are a diagnostic; losing them must never stop the engine from searching
+            System.err.println("Search metrics not published over JMX: " + e);
+            return false;
+        }
+    }
+
+    private long searches;
+    private long nodes;
+    private long quiescenceNodes;
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+    private long transpositionTableProbes;
+    private long transpositionTableHits;
+    private long searchTimeMillis;
+    private volatile SearchStatistics lastSearch;
+
+    private SearchMetrics() {
+    }
+
+    public static SearchMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Whether these metrics are the ones published under OBJECT_NAME.
+     */
+    public static boolean isRegistered() {
+        return REGISTERED;
+    }
+
+    synchronized void record(final SearchStatistics statistics) {
+        this.searches++;
+        this.nodes += statistics.getNodes();
+        this.quiescenceNodes += statistics.getQuiescenceNodes();
+        this.betaCutoffs += statistics.getBetaCutoffs();
+        this.firstMoveCutoffs += statistics.getFirstMoveCutoffs();
+        this.transpositionTableProbes += statistics.getTranspositionTableProbes();
+        this.transpositionTableHits += statistics.getTranspositionTableHits();
+        this.searchTimeMillis += statistics.getElapsedMillis();
+        this.lastSearch = statistics;
+    }
+
+    /**
+     * Statistics of the last search to finish, or null before the first.
+     */
+    public SearchStatistics getLastSearch() {
+        return this.lastSearch;
+    }
+
+    @Override
+    public synchronized long getSearches() {
+        return this.searches;
+    }
+
+    @Override
+    public synchronized long getNodes() {
+        return this.nodes;
+    }
+
+    @Override
+    public synchronized long getQuiescenceNodes() {
+        return this.quiescenceNodes;
+    }
+
+    @Override
+    public synchronized long getBetaCutoffs() {
+        return this.betaCutoffs;
+    }
+
+    @Override
+    public synchronized double getFirstMoveCutoffRate() {
+        return this.betaCutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.betaCutoffs;
+    }
+
+    @Override
+    public synchronized long getTranspositionTableProbes() {
+        return this.transpositionTableProbes;
+    }
+
+    @Override
+    public synchronized long getTranspositionTableHits() {
+        return this.transpositionTableHits;
+    }
+
+    @Override
+    public synchronized double getTranspositionTableHitRate() {
+        return this.transpositionTableProbes == 0 ? 0 : (double) this.transpositionTableHits / this.transpositionTableProbes;
+    }
+
+    @Override
+    public synchronized long getSearchTimeMillis() {
+        return this.searchTimeMillis;
+    }
+
+    @Override
+    public synchronized long getNodesPerSecond() {
+        return this.searchTimeMillis == 0 ? 0 : this.nodes * 1000 / this.searchTimeMillis;
+    }
+
+    @Override
+    public int getLastSearchDepth() {
+        final SearchStatistics last = this.lastSearch;
+        return last != null ? last.getDepth() : 0;
+    }
+
+    @Override
+    public long getLastSearchNodes() {
+        final SearchStatistics last = this.lastSearch;
+        return last != null ? last.getNodes() : 0;
+    }
+
+    @Override
+    public long getLastSearchTimeMillis() {
+        final SearchStatistics last = this.lastSearch;
+        return last != null ? last.getElapsedMillis() : 0;
+    }
+
+    @Override
+    public long getLastSearchNodesPerSecond() {
+        final SearchStatistics last = this.lastSearch;
+        return last != null ? last.getNodesPerSecond() : 0;
+    }
+
+    @Override
+    public double getLastSearchEffectiveBranchingFactor() {
+        final SearchStatistics last = this.lastSearch;
+        return last != null ? last.getEffectiveBranchingFactor() : 0;
+    }
+
+    @Override
+    public long[] getLastSearchIterationMillis() {
+        final SearchStatistics last = this.lastSearch;
+        return last != null ? Longs.toArray(last.getIterationMillis()) : new long[0];
+    }
+
+    @Override
+    public synchronized void reset() {
+        this.searches = 0;
+        this.nodes = 0;
+        this.quiescenceNodes = 0;
+        this.betaCutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        this.transpositionTableProbes = 0;
+        this.transpositionTableHits = 0;
+        this.searchTimeMillis = 0;
+        this.lastSearch = null;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.chess.engine.player.ai;
+
+public interface SearchMetricsMBean {
+    /**
+     * JMX view of SearchMetrics: totals since start-up or the last reset, then the last search's figures.
+     */
+
+    long getSearches();
+
+    long getNodes();
+
+    long getQuiescenceNodes();
+
+    long getBetaCutoffs();
+
+    double getFirstMoveCutoffRate();
+
+    long getTranspositionTableProbes();
+
+    long getTranspositionTableHits();
+
+    double getTranspositionTableHitRate();
+
+    long getSearchTimeMillis();
+
+    long getNodesPerSecond();
+
+    int getLastSearchDepth();
+
+    long getLastSearchNodes();
+
+    long getLastSearchTimeMillis();
+
+    long getLastSearchNodesPerSecond();
+
+    double getLastSearchEffectiveBranchingFactor();
+
+    long[] getLastSearchIterationMillis();
+
+    void reset();
+}
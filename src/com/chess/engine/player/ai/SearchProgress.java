@@ -0,0 +1,105 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+public final class SearchProgress {
+    /**
+     * Snapshot of a search for SearchListener. Scores are from white's point of view, and the
+     * principal variation is in coordinate notation (e2e4, e7e8q).
+     */
+
+    private final int depth;
+    private final int currentMoveNumber;
+    private final int moveCount;
+    private final String currentMove;
+    private final long nodes;
+    private final long elapsedMillis;
+    private final int score;
+    private final Move bestMove;
+    private final List<String> principalVariation;
+
+    SearchProgress(final int depth,
+                   final int currentMoveNumber,
+                   final int moveCount,
+                   final String currentMove,
+                   final long nodes,
+                   final long elapsedMillis,
+                   final int score,
+                   final Move bestMove,
+                   final List<String> principalVariation) {
+        this.depth = depth;
+        this.currentMoveNumber = currentMoveNumber;
+        this.moveCount = moveCount;
+        this.currentMove = currentMove;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+        this.score = score;
+        this.bestMove = bestMove;
+        this.principalVariation = ImmutableList.copyOf(principalVariation);
+    }
+
+    /**
+     * Depth of the iteration under way, or of the last one completed once it is; 0 when the search starts.
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Position of the root move being searched in this iteration's order, counting from 1.
+     */
+    public int getCurrentMoveNumber() {
+        return this.currentMoveNumber;
+    }
+
+    public int getMoveCount() {
+        return this.moveCount;
+    }
+
+    /**
+     * Root move being searched, or null between moves.
+     */
+    public String getCurrentMove() {
+        return this.currentMove;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return this.elapsedMillis == 0 ? 0 : this.nodes * 1000 / this.elapsedMillis;
+    }
+
+    /**
+     * Score of the last completed iteration.
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * Best move of the last completed iteration, or null before the first.
+     */
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    public List<String> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth %d: %s score %d, %d nodes, %d ms, %d nps, pv %s", this.depth, this.bestMove,
+                this.score, this.nodes, this.elapsedMillis, getNodesPerSecond(), String.join(" ", this.principalVariation));
+    }
+
+}
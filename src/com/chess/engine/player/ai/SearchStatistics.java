@@ -0,0 +1,140 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+public final class SearchStatistics {
+    /**
+     * Counters of one AlphaBeta search, totalled over all its threads.
+     *
+     * Nodes include quiescence nodes. Beta cutoffs and transposition table probes are counted at
+     * full-depth nodes only, quiescence doesn't probe the table. The per-iteration figures are the
+     * main thread's, in the order the iterations completed.
+     */
+
+    private final Move bestMove;
+    private final int depth;
+    private final long nodes;
+    private final long quiescenceNodes;
+    private final long betaCutoffs;
+    private final long firstMoveCutoffs;
+    private final long transpositionTableProbes;
+    private final long transpositionTableHits;
+    private final long elapsedMillis;
+    private final List<Long> iterationNodes;
+    private final List<Long> iterationMillis;
+
+    SearchStatistics(final Move bestMove,
+                     final int depth,
+                     final long nodes,
+                     final long quiescenceNodes,
+                     final long betaCutoffs,
+                     final long firstMoveCutoffs,
+                     final long transpositionTableProbes,
+                     final long transpositionTableHits,
+                     final long elapsedMillis,
+                     final List<Long> iterationNodes,
+                     final List<Long> iterationMillis) {
+        this.bestMove = bestMove;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.quiescenceNodes = quiescenceNodes;
+        this.betaCutoffs = betaCutoffs;
+        this.firstMoveCutoffs = firstMoveCutoffs;
+        this.transpositionTableProbes = transpositionTableProbes;
+        this.transpositionTableHits = transpositionTableHits;
+        this.elapsedMillis = elapsedMillis;
+        this.iterationNodes = ImmutableList.copyOf(iterationNodes);
+        this.iterationMillis = ImmutableList.copyOf(iterationMillis);
+    }
+
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * Depth of the last completed iteration.
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getQuiescenceNodes() {
+        return this.quiescenceNodes;
+    }
+
+    public long getBetaCutoffs() {
+        return this.betaCutoffs;
+    }
+
+    public long getFirstMoveCutoffs() {
+        return this.firstMoveCutoffs;
+    }
+
+    /**
+     * Share of the beta cutoffs caused by the first move searched; the closer to 1, the better the move ordering.
+     */
+    public double getFirstMoveCutoffRate() {
+        return this.betaCutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.betaCutoffs;
+    }
+
+    public long getTranspositionTableProbes() {
+        return this.transpositionTableProbes;
+    }
+
+    public long getTranspositionTableHits() {
+        return this.transpositionTableHits;
+    }
+
+    public double getTranspositionTableHitRate() {
+        return this.transpositionTableProbes == 0 ? 0 : (double) this.transpositionTableHits / this.transpositionTableProbes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return this.elapsedMillis == 0 ? 0 : this.nodes * 1000 / this.elapsedMillis;
+    }
+
+    /**
+     * Nodes the main thread searched in each completed iteration.
+     */
+    public List<Long> getIterationNodes() {
+        return this.iterationNodes;
+    }
+
+    /**
+     * Time each completed iteration took.
+     */
+    public List<Long> getIterationMillis() {
+        return this.iterationMillis;
+    }
+
+    /**
+     * How many times the nodes of the last iteration outnumber the one before it, or 0 with fewer than two.
+     */
+    public double getEffectiveBranchingFactor() {
+        final int iterations = this.iterationNodes.size();
+        if (iterations < 2 || this.iterationNodes.get(iterations - 2) == 0) {
+            return 0;
+        }
+        return (double) this.iterationNodes.get(iterations - 1) / this.iterationNodes.get(iterations - 2);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s depth %d, %d nodes (%d quiescence), %d ms, %d nps, ebf %.2f, "
+                        + "first-move cutoffs %.1f%%, tt hits %.1f%%", this.bestMove, this.depth, this.nodes,
+                this.quiescenceNodes, this.elapsedMillis, getNodesPerSecond(), getEffectiveBranchingFactor(),
+                100 * getFirstMoveCutoffRate(), 100 * getTranspositionTableHitRate());
+    }
+
+}
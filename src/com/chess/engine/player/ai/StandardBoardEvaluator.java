@@ -1,52 +1,59 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
-import com.chess.engine.pieces.Piece;
+import com.chess.engine.board.MutableBoard;
 import com.chess.engine.player.Player;
 
 public final class StandardBoardEvaluator implements BoardEvaluator {
 
     private static final int CHECK_BONUS = 1/*100*/;
-    private static final int CHECKMATE_BONUS = 1000;
-    private static final int DEPTH_BONUS_AMPLIFIER = 2;
     private static final int CASTLE_BONUS = 25;
 
+    /**
+     * Material and piece placement come from the score the board keeps up to date move by move,
+     * so a position costs next to nothing to evaluate. Checkmate and stalemate are left to the search,
+     * which knows how far from the root they are.
+     */
     @Override
-    public int evaluate(Board board, int depth) {
-        return scorePlayer(board.whitePlayer(), depth)
-                - scorePlayer(board.blackPlayer(), depth);
+    public int evaluate(Board board) {
+        return board.getBitBoard().getPieceSquareScore()
+                + scorePlayer(board.whitePlayer())
+                - scorePlayer(board.blackPlayer());
     }
 
-    private int scorePlayer(Player player, int depth) {
-        return pieceValue(player) + mobility(player) / 2 + check(player) + checkMate(player, depth) + castle(player);
-    }
-
-    private static int castle(Player player) {
-        return player.isCastled ? CASTLE_BONUS : 0;
+    @Override
+    public int evaluate(MutableBoard board) {
+        return board.getPieceSquareScore()
+                + castle(board, Alliance.WHITE)
+                - castle(board, Alliance.BLACK)
+                + sideToMoveStatus(board);
     }
 
-    private static int checkMate(Player player, int depth) {
-        return player.getOpponent().isInCheckMate() ? CHECKMATE_BONUS * depthBonus(depth) : 0;
+    private int scorePlayer(Player player) {
+        return check(player) + castle(player);
     }
 
-    private static int depthBonus(int depth) {
-        return depth == 0 ? 1 : DEPTH_BONUS_AMPLIFIER * depth;
+    private static int castle(MutableBoard board, Alliance alliance) {
+        return board.isCastled(alliance) ? CASTLE_BONUS : 0;
     }
 
-    private static int check(Player player) {
-        return player.getOpponent().isInCheck() ? CHECK_BONUS : 0;
+    /**
+     * Check bonus, signed for white. Only the side to move can be in check.
+     */
+    private static int sideToMoveStatus(MutableBoard board) {
+        if (!board.isInCheck()) {
+            return 0;
+        }
+        return board.getSideToMove().isWhite() ? -CHECK_BONUS : CHECK_BONUS;
     }
 
-    private static int mobility(Player player) {
-        return player.getLegalMoves().size();
+    private static int castle(Player player) {
+        return player.isCastled ? CASTLE_BONUS : 0;
     }
 
-    private static int pieceValue(Player player) {
-        int pieceValueScore = 0;
-        for (Piece piece : player.getActivePieces()) {
-            pieceValueScore += piece.getPieceValue();
-        }
-        return pieceValueScore;
+    private static int check(Player player) {
+        return player.getOpponent().isInCheck() ? CHECK_BONUS : 0;
     }
 
 }
@@ -0,0 +1,170 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.jfr.EngineEvents;
+import com.chess.engine.jfr.TranspositionTableEvent;
+
+import java.util.Arrays;
+
+public final class TranspositionTable {
+    /**
+     * Fixed-size table of search results keyed by Zobrist key, shared between searches.
+     *
+     * Every entry is two longs: the key XOR the data, then the data. Entries are read and written
+     * without locks; a reader that races a writer sees a key that does not verify and takes it as
+     * a miss, so a torn entry is never used.
+     *
+     * data: best move (26 bits) | score (20 bits, signed) | depth (8 bits) | bound (2 bits) | age (6 bits)
+     *
+     * Entries live in buckets of two. A store goes to the entry already holding its key if there is
+     * one, otherwise it replaces whichever entry is shallowest, counting entries from earlier
+     * searches as shallower the older they are.
+     */
+
+    public static final int DEFAULT_SIZE_MB = 32;
+
+    public static final long NO_ENTRY = 0;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    public static final int MAX_SCORE = (1 << 19) - 1;
+
+    private static final int MOVE_BITS = 26;
+    private static final int SCORE_SHIFT = 26;
+    private static final int DEPTH_SHIFT = 46;
+    private static final int BOUND_SHIFT = 54;
+    private static final int AGE_SHIFT = 56;
+    private static final int MAX_DEPTH = 255;
+    private static final int AGE_MASK = 63;
+
+    private static final int ENTRY_LONGS = 2;
+    private static final int BUCKET_ENTRIES = 2;
+    private static final int BUCKET_LONGS = ENTRY_LONGS * BUCKET_ENTRIES;
+
+    private final long[] entries;
+    private final int bucketMask;
+    private final int sizeMB;
+    private volatile int age;
+
+    public TranspositionTable(final int sizeMB) {
+        if (sizeMB < 1) {
+            throw new IllegalArgumentException("Transposition table size must be at least 1 MB, got " + sizeMB);
+        }
+        final TranspositionTableEvent event = EngineEvents.ENABLED ? new TranspositionTableEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        final long bucketCount = Long.highestOneBit((long) sizeMB * 1024 * 1024 / (BUCKET_LONGS * Long.BYTES));
+        this.entries = new long[Math.toIntExact(bucketCount * BUCKET_LONGS)];
+        this.bucketMask = (int) bucketCount - 1;
+        this.sizeMB = sizeMB;
+        this.age = 0;
+        if (event != null) {
+            commit(event, TranspositionTableEvent.ALLOCATE);
+        }
+    }
+
+    /**
+     * Marks the start of a new search, so that entries from earlier ones are replaced first.
+     */
+    public void newSearch() {
+        this.age = (this.age + 1) & AGE_MASK;
+    }
+
+    public void clear() {
+        final TranspositionTableEvent event = EngineEvents.ENABLED ? new TranspositionTableEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        Arrays.fill(this.entries, 0);
+        this.age = 0;
+        if (event != null) {
+            commit(event, TranspositionTableEvent.CLEAR);
+        }
+    }
+
+    public int getSizeMB() {
+        return this.sizeMB;
+    }
+
+    public int getCapacity() {
+        return this.entries.length / ENTRY_LONGS;
+    }
+
+    /**
+     * The data stored for the key, or NO_ENTRY; decode it with getMove, getScore, getDepth and getBound.
+     */
+    public long probe(final long key) {
+        final int bucket = bucketIndex(key);
+        for (int entry = bucket; entry < bucket + BUCKET_LONGS; entry += ENTRY_LONGS) {
+            final long data = this.entries[entry + 1];
+            if ((this.entries[entry] ^ data) == key && getBound(data) != 0) {
+                return data;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    public void store(final long key, final int move, final int score, final int depth, final int bound) {
+        if (score > MAX_SCORE || score < -MAX_SCORE) {
+            return;
+        }
+        final int currentAge = this.age;
+        final int bucket = bucketIndex(key);
+        int replace = bucket;
+        int replaceWorth = Integer.MAX_VALUE;
+        for (int entry = bucket; entry < bucket + BUCKET_LONGS; entry += ENTRY_LONGS) {
+            final long data = this.entries[entry + 1];
+            if ((this.entries[entry] ^ data) == key || getBound(data) == 0) {
+                replace = entry;
+                break;
+            }
+            final int worth = getDepth(data) - 8 * ((currentAge - getAge(data)) & AGE_MASK);
+            if (worth < replaceWorth) {
+                replace = entry;
+                replaceWorth = worth;
+            }
+        }
+        final long data = (move & ((1L << MOVE_BITS) - 1))
+                | ((long) score & 0xFFFFF) << SCORE_SHIFT
+                | (long) Math.min(depth, MAX_DEPTH) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) currentAge << AGE_SHIFT;
+        this.entries[replace + 1] = data;
+        this.entries[replace] = key ^ data;
+    }
+
+    public static int getMove(final long data) {
+        return (int) (data & ((1L << MOVE_BITS) - 1));
+    }
+
+    public static int getScore(final long data) {
+        return (int) ((data << (64 - DEPTH_SHIFT)) >> (64 - DEPTH_SHIFT + SCORE_SHIFT));
+    }
+
+    public static int getDepth(final long data) {
+        return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    public static int getBound(final long data) {
+        return (int) (data >>> BOUND_SHIFT) & 3;
+    }
+
+    private static int getAge(final long data) {
+        return (int) (data >>> AGE_SHIFT) & AGE_MASK;
+    }
+
+    private void commit(final TranspositionTableEvent event, final String operation) {
+        event.operation = operation;
+        event.size = (long) this.entries.length * Long.BYTES;
+        event.capacity = getCapacity();
+        event.commit();
+    }
+
+    private int bucketIndex(final long key) {
+        // the low bits of the key pick the bucket; the whole key is checked on probe
+        return ((int) key & this.bucketMask) * BUCKET_LONGS;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.chess.gui;
+
+import com.chess.engine.player.ai.SearchListener;
+import com.chess.engine.player.ai.SearchProgress;
+
+import javax.swing.SwingUtilities;
+
+public final class SwingSearchListener implements SearchListener {
+    /**
+     * Passes a search's events on to a listener on the event dispatch thread, so that listener
+     * can update components directly while the search thread carries on without waiting for it.
+     */
+
+    private final SearchListener delegate;
+
+    public SwingSearchListener(final SearchListener delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void searchStarted(final SearchProgress progress) {
+        SwingUtilities.invokeLater(() -> this.delegate.searchStarted(progress));
+    }
+
+    @Override
+    public void progressUpdated(final SearchProgress progress) {
+        SwingUtilities.invokeLater(() -> this.delegate.progressUpdated(progress));
+    }
+
+    @Override
+    public void iterationCompleted(final SearchProgress progress) {
+        SwingUtilities.invokeLater(() -> this.delegate.iterationCompleted(progress));
+    }
+
+    @Override
+    public void searchFinished(final SearchProgress progress) {
+        SwingUtilities.invokeLater(() -> this.delegate.searchFinished(progress));
+    }
+
+}
@@ -9,7 +9,10 @@ import com.chess.engine.player.MoveStatus;
 import com.chess.engine.player.MoveTransition;
 import com.chess.engine.player.ai.AlphaBeta;
         /*import com.chess.engine.player.ai.MiniMax;*/
-import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.SearchHandle;
+import com.chess.engine.player.ai.SearchListener;
+import com.chess.engine.player.ai.SearchProgress;
+import com.chess.engine.player.ai.TranspositionTable;
 import com.chess.pgn.FenUtilities;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
@@ -34,8 +37,11 @@ public class Table extends Observable {
     private final MoveLog moveLog;
     private final GameHistoryPanel gameHistoryPanel;
     private final TakenPiecesPanel takenPiecesPanel;
-    public final JProgressBar progressBarPanel;
+    private final JProgressBar progressBarPanel;
     private GameSetup gameSetup;
+    // kept across moves, so each search starts with what the previous ones learned
+    private final TranspositionTable transpositionTable;
+    private SearchHandle searchHandle;
 
     private Tile sourceTile;
     private Tile destinationTile;
@@ -86,12 +92,11 @@ public class Table extends Observable {
         @Override
         public void update(Observable o, Object arg) {
             if (Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard().getCurrentPlayer())
-                    && !Table.get().getGameBoard().getCurrentPlayer().isInCheckMate()
-                    && !Table.get().getGameBoard().getCurrentPlayer().isInStaleMate()) {
+                    && !Table.get().getGameBoard().getCurrentPlayer().getGameStatus().isGameOver()) {
                 if (!dispatched) {
                     dispatched = true;
                     // create an AI thread
-                    final AIThinkTank thinkTank = new AIThinkTank();
+                    final AIThinkTank thinkTank = new AIThinkTank(Table.get().startSearch());
                     thinkTank.execute();
                 }
             }
@@ -115,20 +120,81 @@ public class Table extends Observable {
         notifyObservers(playerType);
     }
 
-    private static class AIThinkTank extends SwingWorker<Move, String> {
+    private SearchHandle startSearch() {
+        final AlphaBeta alphaBeta = new AlphaBeta.Builder()
+                .setSearchDepth(this.gameSetup.getSearchDepth())
+                .setMoveTimeMillis(this.gameSetup.getMoveTimeMillis())
+                .setThreads(this.gameSetup.getSearchThreads())
+                .setTranspositionTable(this.transpositionTable)
+                .setSearchListener(new SwingSearchListener(new ProgressBarSearchListener(this.progressBarPanel)))
+                .build();
+        /*final MoveStrategy miniMax = new MiniMax(Table.get().gameSetup.getSearchDepth());*/
+        this.searchHandle = alphaBeta.executeAsync(getGameBoard());
+        return this.searchHandle;
+    }
+
+    /**
+     * Abandons the running search, if any; its thread winds down on its own and its move is never played.
+     */
+    private void cancelSearch() {
+        if (this.searchHandle != null) {
+            this.searchHandle.cancel(false);
+            this.searchHandle = null;
+        }
+        dispatched = false;
+    }
+
+    /**
+     * Shows the search's progress through the root moves on the progress bar; runs on the event dispatch thread.
+     */
+    private static class ProgressBarSearchListener implements SearchListener {
+        private final JProgressBar progressBar;
+
+        private ProgressBarSearchListener(final JProgressBar progressBar) {
+            this.progressBar = progressBar;
+        }
+
+        @Override
+        public void searchStarted(final SearchProgress progress) {
+            this.progressBar.setMaximum(progress.getMoveCount());
+            this.progressBar.setValue(0);
+            this.progressBar.setStringPainted(false);
+        }
+
+        @Override
+        public void progressUpdated(final SearchProgress progress) {
+            this.progressBar.setValue(progress.getCurrentMoveNumber());
+        }
+
         @Override
-        protected Move doInBackground() {
-            final MoveStrategy alphaBeta = new AlphaBeta(Table.get().gameSetup.getSearchDepth());
-            /*final MoveStrategy miniMax = new MiniMax(Table.get().gameSetup.getSearchDepth());*/
+        public void searchFinished(final SearchProgress progress) {
+            final float executionTime = (float) progress.getElapsedMillis() / 1000;
+            this.progressBar.setValue(this.progressBar.getMaximum());
+            this.progressBar.setStringPainted(true);
+            this.progressBar.setString(String.valueOf(executionTime) + " sec");
+        }
+    }
 
-            return alphaBeta.execute(Table.get().getGameBoard());
-            /*return miniMax.execute(Table.get().getGameBoard());*/
+    private static class AIThinkTank extends SwingWorker<Move, String> {
+        private final SearchHandle searchHandle;
+
+        AIThinkTank(final SearchHandle searchHandle) {
+            this.searchHandle = searchHandle;
+        }
+
+        @Override
+        protected Move doInBackground() throws Exception {
+            return this.searchHandle.get();
         }
 
         @Override
         protected void done() {
+            if (this.searchHandle.isCancelled()) {
+                return;
+            }
             try {
                 final Move bestMove = get();
+                Table.get().searchHandle = null;
                 final Board newBoard = Table.get().getGameBoard().getCurrentPlayer().makeMove(bestMove).getBoard();
                 Table.get().updateGameBoard(newBoard);
                 Table.get().moveLog.addMove(bestMove, Table.get().getGameBoard());
@@ -162,6 +228,7 @@ public class Table extends Observable {
         this.progressBarPanel = new JProgressBar();
         progressBarPanel.setMinimum(0);
         this.gameSetup = new GameSetup(gameFrame, true);
+        this.transpositionTable = new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB);
 
         this.addObserver(new TableGameAIWatcher());
 
@@ -274,18 +341,16 @@ public class Table extends Observable {
         }
 
         void takeBackTwoMoves() {
-            if (!dispatched) {  // prevent taking back while bot is thinking
-                int count = 0;
-                int size = size();
-                while (size >= 1 && count++ < 2) {
-                    this.moves.remove(size - 1);
-                    this.moveTexts.remove(size - 1);
-                    size--;
-                }
-                updateBoard();
-            } else {
-                JOptionPane.showMessageDialog(Table.get().boardPanel, "Cannot take back move while bot is thinking.\n PATIENCE");
+            // whatever the bot is thinking about is about to be taken back
+            Table.get().cancelSearch();
+            int count = 0;
+            int size = size();
+            while (size >= 1 && count++ < 2) {
+                this.moves.remove(size - 1);
+                this.moveTexts.remove(size - 1);
+                size--;
             }
+            updateBoard();
         }
 
         int size() {
@@ -2,6 +2,7 @@ package com.chess.gui;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.player.Player;
+import com.chess.engine.player.ai.AlphaBeta;
 import com.chess.gui.Table.PlayerType;
 
 import javax.swing.*;
@@ -13,6 +14,8 @@ class GameSetup extends JDialog {
     private PlayerType whitePlayerType = PlayerType.HUMAN;
     private PlayerType blackPlayerType = PlayerType.COMPUTER;
     private JSpinner searchDepthSpinner;
+    private JSpinner moveTimeSpinner;
+    private JSpinner searchThreadsSpinner;
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
@@ -47,7 +50,13 @@ class GameSetup extends JDialog {
         myPanel.add(blackComputerButton);
 
         myPanel.add(new JLabel("Search"));
-        this.searchDepthSpinner = addLabeledSpinner(myPanel, new SpinnerNumberModel(4, 0, Integer.MAX_VALUE, 1));
+        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth",
+                new SpinnerNumberModel(6, 1, AlphaBeta.MAX_SEARCH_DEPTH, 1));
+        this.moveTimeSpinner = addLabeledSpinner(myPanel, "Move Time (sec)",
+                new SpinnerNumberModel(5, 1, 600, 1));
+        final int processors = Runtime.getRuntime().availableProcessors();
+        this.searchThreadsSpinner = addLabeledSpinner(myPanel, "Search Threads",
+                new SpinnerNumberModel(processors, 1, processors, 1));
 
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -89,8 +98,9 @@ class GameSetup extends JDialog {
     }
 
     private static JSpinner addLabeledSpinner(final Container c,
+                                              final String label,
                                               final SpinnerModel model) {
-        final JLabel l = new JLabel("Search Depth");
+        final JLabel l = new JLabel(label);
         c.add(l);
         final JSpinner spinner = new JSpinner(model);
         l.setLabelFor(spinner);
@@ -101,4 +111,12 @@ class GameSetup extends JDialog {
     int getSearchDepth() {
         return (Integer) this.searchDepthSpinner.getValue();
     }
+
+    long getMoveTimeMillis() {
+        return (Integer) this.moveTimeSpinner.getValue() * 1000L;
+    }
+
+    int getSearchThreads() {
+        return (Integer) this.searchThreadsSpinner.getValue();
+    }
 }
@@ -0,0 +1,86 @@
+package com.chess.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.player.MoveStatus;
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class Perft {
+    /**
+     * Counts the leaf nodes of the legal move tree through Player.getLegalMoves and Player.makeMove,
+     * so it exercises the same move generation and execution the GUI and the players use.
+     *
+     * Usage: Perft "<fen>" <depth> [divide]
+     */
+
+    private Perft() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (depth == 1) {
+            return board.getCurrentPlayer().getLegalMoves().size();
+        }
+        long nodes = 0;
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if (transition.getMoveStatus() == MoveStatus.DONE) {
+                nodes += perft(transition.getBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Leaf count below each root move, keyed by the move in coordinate notation (e2e4, e7e8q).
+     */
+    public static Map<String, Long> divide(final Board board, final int depth) {
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if (transition.getMoveStatus() == MoveStatus.DONE) {
+                divide.put(PackedMove.toString(PackedMove.fromMove(move)), perft(transition.getBoard(), depth - 1));
+            }
+        }
+        return divide;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("usage: Perft \"<fen>\" <depth> [divide]");
+            return;
+        }
+        final Board board = FenUtilities.createGameFromFEN(args[0]);
+        final int depth = Integer.parseInt(args[1]);
+        final boolean showDivide = args.length > 2 && args[2].equals("divide");
+
+        final long startTime = System.nanoTime();
+        long nodes = 0;
+        if (showDivide) {
+            for (final Map.Entry<String, Long> entry : divide(board, depth).entrySet()) {
+                System.out.printf("%s: %d\n", entry.getKey(), entry.getValue());
+                nodes += entry.getValue();
+            }
+        } else {
+            nodes = perft(board, depth);
+        }
+        final long elapsedNanos = System.nanoTime() - startTime;
+
+        System.out.printf("Nodes: %d\n", nodes);
+        System.out.printf("Time: %.3f sec\n", elapsedNanos / 1e9);
+        System.out.printf("NPS: %d\n", nodesPerSecond(nodes, elapsedNanos));
+    }
+
+    static long nodesPerSecond(final long nodes, final long elapsedNanos) {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.chess.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.pgn.FenUtilities;
+import com.google.common.collect.ImmutableList;
+
+import java.io.PrintStream;
+import java.util.List;
+
+public final class PerftSuite {
+    /**
+     * Standard perft positions with their published node counts, covering castling,
+     * en passant, promotions and discovered checks.
+     *
+     * Usage: PerftSuite [max depth]
+     */
+
+    private static final int DEFAULT_MAX_DEPTH = 3;
+
+    static final List<PerftPosition> POSITIONS = ImmutableList.of(
+            new PerftPosition("start",
+                    "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                    20, 400, 8902, 197281, 4865609),
+            new PerftPosition("kiwipete",
+                    "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    48, 2039, 97862, 4085603),
+            new PerftPosition("position3",
+                    "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14, 191, 2812, 43238, 674624),
+            new PerftPosition("position4",
+                    "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    6, 264, 9467, 422333),
+            new PerftPosition("position5",
+                    "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    44, 1486, 62379, 2103487),
+            new PerftPosition("position6",
+                    "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46, 2079, 89890, 3894594)
+    );
+
+    // the positions alone, for tests that want boards full of special moves
+    public static final List<String> FENS = POSITIONS.stream()
+            .map(position -> position.fen)
+            .collect(ImmutableList.toImmutableList());
+
+    private PerftSuite() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    /**
+     * Runs every position up to the given depth (or its deepest known count) and reports each result.
+     *
+     * @return whether every count matched
+     */
+    public static boolean run(final int maxDepth, final PrintStream out) {
+        boolean passed = true;
+        long totalNodes = 0;
+        long totalNanos = 0;
+        for (final PerftPosition position : POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(position.fen);
+            for (int depth = 1; depth <= Math.min(maxDepth, position.expectedNodes.length); depth++) {
+                final long startTime = System.nanoTime();
+                final long nodes = Perft.perft(board, depth);
+                final long elapsedNanos = System.nanoTime() - startTime;
+                final long expectedNodes = position.expectedNodes[depth - 1];
+                passed &= nodes == expectedNodes;
+                totalNodes += nodes;
+                totalNanos += elapsedNanos;
+                out.printf("%-10s depth %d  nodes %10d  expected %10d  %8.3f sec  %9d nps  %s\n",
+                        position.name, depth, nodes, expectedNodes, elapsedNanos / 1e9,
+                        Perft.nodesPerSecond(nodes, elapsedNanos), nodes == expectedNodes ? "PASS" : "FAIL");
+            }
+        }
+        out.printf("Total: %d nodes in %.3f sec, %d nps: %s\n", totalNodes, totalNanos / 1e9,
+                Perft.nodesPerSecond(totalNodes, totalNanos), passed ? "PASS" : "FAIL");
+        return passed;
+    }
+
+    public static void main(String[] args) {
+        final int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_DEPTH;
+        System.exit(run(maxDepth, System.out) ? 0 : 1);
+    }
+
+    static final class PerftPosition {
+        final String name;
+        final String fen;
+        // expectedNodes[depth - 1]
+        final long[] expectedNodes;
+
+        PerftPosition(final String name, final String fen, final long... expectedNodes) {
+            this.name = name;
+            this.fen = fen;
+            this.expectedNodes = expectedNodes;
+        }
+    }
+
+}
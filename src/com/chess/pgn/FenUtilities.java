@@ -1,8 +1,11 @@
 package com.chess.pgn;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
-import com.chess.engine.pieces.Pawn;
+import com.chess.engine.board.Tile;
+import com.chess.engine.pieces.*;
 
 public class FenUtilities {
     private FenUtilities() {
@@ -10,7 +13,93 @@ public class FenUtilities {
     }
 
     public static Board createGameFromFEN(String fenString) {
-        return null;
+        final String[] fenPartitions = fenString.trim().split("\\s+");
+        if (fenPartitions.length < 4) {
+            throw new RuntimeException("Invalid FEN string: " + fenString);
+        }
+        final String castleText = fenPartitions[2];
+        final Piece[] pieces = new Piece[64];
+        // eight ranks from the eighth down, each exactly eight squares wide
+        final String[] ranks = fenPartitions[0].split("/", -1);
+        if (ranks.length != 8) {
+            throw new RuntimeException("Invalid FEN string: " + fenString);
+        }
+        for (int rank = 0; rank < 8; rank++) {
+            int file = 0;
+            for (final char pieceChar : ranks[rank].toCharArray()) {
+                if (pieceChar >= '1' && pieceChar <= '8') {
+                    file += pieceChar - '0';
+                } else if (file < 8) {
+                    final int coordinate = rank * 8 + file;
+                    pieces[coordinate] = createPiece(pieceChar, coordinate, castleText);
+                    file++;
+                } else {
+                    throw new RuntimeException("Invalid FEN string: " + fenString);
+                }
+            }
+            if (file != 8) {
+                throw new RuntimeException("Invalid FEN string: " + fenString);
+            }
+        }
+
+        final Board.Builder builder = new Board.Builder();
+        for (final Piece piece : pieces) {
+            if (piece != null) {
+                builder.setPiece(piece);
+            }
+        }
+        final Alliance moveMaker = calculateMoveMaker(fenPartitions[1]);
+        builder.setMoveMaker(moveMaker);
+        if (!fenPartitions[3].equals("-")) {
+            // the pawn that just jumped stands one tile past the en passant square, seen from the side to move
+            final Piece enPassantPawn = pieces[BoardUtils.getCoordinateAtPosition(fenPartitions[3]) - 8 * moveMaker.getDirection()];
+            if (!(enPassantPawn instanceof Pawn)) {
+                throw new RuntimeException("Invalid FEN string: " + fenString);
+            }
+            builder.setEnPassantPawn((Pawn) enPassantPawn);
+        }
+        return builder.build();
+    }
+
+    private static Alliance calculateMoveMaker(String moveMakerText) {
+        if (moveMakerText.equals("w")) {
+            return Alliance.WHITE;
+        } else if (moveMakerText.equals("b")) {
+            return Alliance.BLACK;
+        }
+        throw new RuntimeException("Invalid FEN side to move: " + moveMakerText);
+    }
+
+    /**
+     * FEN has no notion of moved pieces, so a piece counts as moved unless the castling
+     * rights or, for pawns, the starting rank say otherwise; the rights only speak for a king
+     * or rook of their own colour on its home square.
+     */
+    private static Piece createPiece(char pieceChar, int coordinate, String castleText) {
+        final Alliance alliance = Character.isUpperCase(pieceChar) ? Alliance.WHITE : Alliance.BLACK;
+        switch (Character.toUpperCase(pieceChar)) {
+            case 'P':
+                final int startRow = alliance.isWhite() ? 6 : 1;
+                return new Pawn(coordinate, alliance, coordinate / 8 != startRow);
+            case 'N':
+                return new Knight(coordinate, alliance, true);
+            case 'B':
+                return new Bishop(coordinate, alliance, true);
+            case 'R':
+                final boolean rookUnmoved = alliance.isWhite()
+                        ? coordinate == 63 && castleText.contains("K") || coordinate == 56 && castleText.contains("Q")
+                        : coordinate == 7 && castleText.contains("k") || coordinate == 0 && castleText.contains("q");
+                return new Rook(coordinate, alliance, !rookUnmoved);
+            case 'Q':
+                return new Queen(coordinate, alliance, true);
+            case 'K':
+                final boolean kingUnmoved = alliance.isWhite()
+                        ? coordinate == 60 && (castleText.contains("K") || castleText.contains("Q"))
+                        : coordinate == 4 && (castleText.contains("k") || castleText.contains("q"));
+                return new King(coordinate, alliance, !kingUnmoved, false, false, false);
+            default:
+                throw new RuntimeException("Invalid FEN piece: " + pieceChar);
+        }
     }
 
     public static String createFENFromBoard(Board board) {
@@ -31,17 +120,18 @@ public class FenUtilities {
     }
 
     private static String calculateCastleText(Board board) {
+        final int castlingRights = board.getBitBoard().getCastlingRights();
         final StringBuilder builder = new StringBuilder();
-        if (board.whitePlayer().isKingSideCastleAvailable()) {
+        if ((castlingRights & BitBoard.WHITE_KING_SIDE) != 0) {
             builder.append("K");
         }
-        if (board.whitePlayer().isQueenSideCastleAvailable()) {
+        if ((castlingRights & BitBoard.WHITE_QUEEN_SIDE) != 0) {
             builder.append("Q");
         }
-        if (board.blackPlayer().isKingSideCastleAvailable()) {
+        if ((castlingRights & BitBoard.BLACK_KING_SIDE) != 0) {
             builder.append("k");
         }
-        if (board.blackPlayer().isQueenSideCastleAvailable()) {
+        if ((castlingRights & BitBoard.BLACK_QUEEN_SIDE) != 0) {
             builder.append("q");
         }
         return builder.toString().isEmpty() ? "-" : builder.toString();
@@ -53,18 +143,27 @@ public class FenUtilities {
 
     private static String calculateBoardText(Board board) {
         final StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < 64; i++) {
-            final String tileText = board.getTile(i).toString();
-            builder.append(tileText);
-            if (i % 8 == 0 && i != 0) {
-                builder.append("/");
+        for (int rank = 0; rank < 8; rank++) {
+            if (rank > 0) {
+                builder.append('/');
+            }
+            int emptyTiles = 0;
+            for (int coordinate = rank * 8; coordinate < rank * 8 + 8; coordinate++) {
+                final Tile tile = board.getTile(coordinate);
+                if (!tile.isTileOccupied()) {
+                    emptyTiles++;
+                    continue;
+                }
+                if (emptyTiles > 0) {
+                    builder.append(emptyTiles);
+                    emptyTiles = 0;
+                }
+                builder.append(tile);
+            }
+            if (emptyTiles > 0) {
+                builder.append(emptyTiles);
             }
         }
-        String resultString = builder.toString();
-        for (int i = 1; i <= 8; i++) {
-            final String stringToReplace = new String(new char[i]).replace("\0", "-");
-            resultString = resultString.replaceAll(stringToReplace, String.valueOf(i));
-        }
-        return resultString;
+        return builder.toString();
     }
 }
@@ -1,22 +1,35 @@
 package com.tests.chess.engine.board;
 
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.PieceSquareTables;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveStatus;
 import com.chess.engine.player.MoveTransition;
 import com.chess.engine.player.ai.AlphaBeta;
 import com.chess.engine.player.ai.MiniMax;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.perft.PerftSuite;
+import com.chess.pgn.FenUtilities;
 import com.google.common.collect.Iterables;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 
 // UH ... NO THANK YOU. YOUR UNIT TESTS DIDN'T EVEN HELP ME SORRY.
 public class BoardTest {
+
     @Test
     public void initialBoard() {
         final Board board = Board.createStandardBoard();
@@ -139,4 +152,178 @@ public class BoardTest {
         assertEquals(MoveStatus.ILLEGAL_MOVE, queenTeleportationMove.getMoveStatus());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testZobristTransposition() {
+        final Board board = Board.createStandardBoard();
+        final String[][] moves = {
+                {"g1", "f3"},  // Nf3
+                {"g8", "f6"},  // Nf6
+                {"f3", "g1"},  // Ng1
+                {"f6", "g8"},  // Ng8
+        };
+        Board transposedBoard = board;
+        for (final String[] moveStrings : moves) {
+            transposedBoard = transposedBoard.getCurrentPlayer().makeMove(
+                    Move.MoveFactory.createMove(
+                            transposedBoard,
+                            BoardUtils.getCoordinateAtPosition(moveStrings[0]),
+                            BoardUtils.getCoordinateAtPosition(moveStrings[1])
+                    )
+            ).getBoard();
+        }
+        assertEquals(board.getZobristKey(), transposedBoard.getZobristKey());
+        assertEquals(board, transposedBoard);
+        assertEquals(board.hashCode(), transposedBoard.hashCode());
+
+        final Move pawnJump = Move.MoveFactory.createMove(board,
+                BoardUtils.getCoordinateAtPosition("e2"),
+                BoardUtils.getCoordinateAtPosition("e4"));
+        final Board pawnJumpBoard = board.getCurrentPlayer().makeMove(pawnJump).getBoard();
+        assertNotEquals(board.getZobristKey(), pawnJumpBoard.getZobristKey());
+
+        final MutableBoard searchBoard = new MutableBoard(board);
+        searchBoard.makeMove(PackedMove.fromMove(pawnJump));
+        assertEquals(pawnJumpBoard.getZobristKey(), searchBoard.getZobristKey());
+        searchBoard.unmakeMove(PackedMove.fromMove(pawnJump));
+        assertEquals(board.getZobristKey(), searchBoard.getZobristKey());
+    }
+
+    @Test
+    public void testPinnedPieceMove() {
+        Board board = Board.createStandardBoard();
+        final String[][] moves = {
+                {"e2", "e4"},  // e4
+                {"d7", "d6"},  // d6
+                {"d2", "d4"},  // d4
+                {"b8", "d7"},  // Nd7
+                {"f1", "b5"},  // Bb5, pinning the knight
+        };
+        for (final String[] moveStrings : moves) {
+            board = board.getCurrentPlayer().makeMove(
+                    Move.MoveFactory.createMove(
+                            board,
+                            BoardUtils.getCoordinateAtPosition(moveStrings[0]),
+                            BoardUtils.getCoordinateAtPosition(moveStrings[1])
+                    )
+            ).getBoard();
+        }
+        final Piece pinnedKnight = board.getTile(BoardUtils.getCoordinateAtPosition("d7")).getPiece();
+        for (final Move move : pinnedKnight.calculateLegalMoves(board)) {
+            assertEquals(MoveStatus.LEAVES_PLAYER_IN_CHECK, board.getCurrentPlayer().makeMove(move).getMoveStatus());
+        }
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            assertNotEquals(BoardUtils.getCoordinateAtPosition("d7"), move.getCurrentCoordinate());
+        }
+    }
+
+
+    @Test
+    public void testPieceSquareScore() {
+        // the standard position is symmetric
+        assertEquals(0, Board.createStandardBoard().getBitBoard().getPieceSquareScore());
+
+        final Random random = new Random(25);
+        for (final String fen : PerftSuite.FENS) {
+            for (int game = 0; game < 10; game++) {
+                Board board = FenUtilities.createGameFromFEN(fen);
+                final MutableBoard searchBoard = new MutableBoard(board);
+                final int startScore = searchBoard.getPieceSquareScore();
+                final List<Integer> moves = new ArrayList<>();
+                for (int ply = 0; ply < 60; ply++) {
+                    final List<Move> legalMoves = new ArrayList<>(board.getCurrentPlayer().getLegalMoves());
+                    Collections.shuffle(legalMoves, random);
+                    Move played = null;
+                    for (final Move move : legalMoves) {
+                        final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+                        if (transition.getMoveStatus() == MoveStatus.DONE) {
+                            played = move;
+                            board = transition.getBoard();
+                            break;
+                        }
+                    }
+                    if (played == null) {
+                        break;
+                    }
+                    final int move = PackedMove.fromMove(played);
+                    searchBoard.makeMove(move);
+                    moves.add(move);
+
+                    final int expectedScore = pieceSquareScore(board);
+                    assertEquals(fen, expectedScore, board.getBitBoard().getPieceSquareScore());
+                    assertEquals(fen, expectedScore, searchBoard.getPieceSquareScore());
+                }
+                for (int i = moves.size() - 1; i >= 0; i--) {
+                    searchBoard.unmakeMove(moves.get(i));
+                }
+                assertEquals(fen, startScore, searchBoard.getPieceSquareScore());
+            }
+        }
+    }
+
+    /**
+     * The piece-square score summed from scratch over the board's pieces.
+     */
+    private static int pieceSquareScore(final Board board) {
+        int middlegameScore = 0;
+        int endgameScore = 0;
+        int phase = 0;
+        for (final Piece piece : Iterables.concat(board.getWhitePieces(), board.getBlackPieces())) {
+            final int pieceIndex = BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType());
+            middlegameScore += PieceSquareTables.middlegameScore(pieceIndex, piece.getPiecePosition());
+            endgameScore += PieceSquareTables.endgameScore(pieceIndex, piece.getPiecePosition());
+            phase += PieceSquareTables.phase(pieceIndex);
+        }
+        phase = Math.min(phase, PieceSquareTables.MAX_PHASE);
+        return (middlegameScore * phase + endgameScore * (PieceSquareTables.MAX_PHASE - phase))
+                / PieceSquareTables.MAX_PHASE;
+    }
+
+    @Test
+    public void testGenerateCaptures() {
+        final Random random = new Random(20);
+        final MoveList moves = new MoveList();
+        final MoveList captures = new MoveList();
+        for (final String fen : PerftSuite.FENS) {
+            // the positions themselves, then the ones along random games from them
+            for (int game = 0; game < 20; game++) {
+                final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(fen));
+                for (int ply = 0; ply < 60; ply++) {
+                    board.generateMoves(moves);
+                    board.generateCaptures(captures);
+                    assertEquals(fen, sorted(capturesAndQueenPromotions(moves)), sorted(toList(captures)));
+                    if (moves.isEmpty()) {
+                        break;
+                    }
+                    board.makeMove(moves.get(random.nextInt(moves.size())));
+                }
+            }
+        }
+    }
+
+    private static List<Integer> capturesAndQueenPromotions(final MoveList moves) {
+        final List<Integer> captures = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (PackedMove.isPromotion(move) ? PackedMove.getPromotion(move) == Piece.PieceType.QUEEN.ordinal()
+                    : PackedMove.isCapture(move)) {
+                captures.add(move);
+            }
+        }
+        return captures;
+    }
+
+    private static List<Integer> toList(final MoveList moves) {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) {
+            list.add(moves.get(i));
+        }
+        return list;
+    }
+
+    private static List<Integer> sorted(final List<Integer> moves) {
+        final List<Integer> sorted = new ArrayList<>(moves);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+}
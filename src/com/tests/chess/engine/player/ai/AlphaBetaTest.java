@@ -0,0 +1,308 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.SearchHandle;
+import com.chess.engine.player.ai.SearchListener;
+import com.chess.engine.player.ai.SearchMetrics;
+import com.chess.engine.player.ai.SearchProgress;
+import com.chess.engine.player.ai.SearchStatistics;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.perft.PerftSuite;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class AlphaBetaTest {
+
+    // castling, en passant and promotions in reach, and both sides developed
+    private static final String KIWIPETE = PerftSuite.FENS.get(1);
+
+    @Test
+    public void testForkJoinMatchesSequential() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final String fen : PerftSuite.FENS) {
+                final Board board = FenUtilities.createGameFromFEN(fen);
+                for (int depth = 1; depth <= 5; depth++) {
+                    final Move sequentialMove = deterministicSearch(depth).build().execute(board);
+                    final Move forkJoinMove = deterministicSearch(depth).setForkJoinPool(pool).build().execute(board);
+                    assertEquals(fen + " at depth " + depth, sequentialMove, forkJoinMove);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testForkJoinProgress() {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        final List<Integer> startDepths = new ArrayList<>();
+        final AtomicInteger furthestMove = new AtomicInteger();
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final AlphaBeta search = new AlphaBeta.Builder()
+                    .setSearchDepth(5)
+                    .setForkJoinPool(pool)
+                    .setProgressIntervalMillis(1)
+                    .setSearchListener(new SearchListener() {
+                        @Override
+                        public void searchStarted(final SearchProgress progress) {
+                            startDepths.add(progress.getDepth());
+                        }
+
+                        @Override
+                        public void progressUpdated(final SearchProgress progress) {
+                            furthestMove.accumulateAndGet(progress.getCurrentMoveNumber(), Math::max);
+                        }
+                    })
+                    .build();
+            search.execute(board);
+            search.execute(board);
+        } finally {
+            pool.shutdown();
+        }
+        // the moves the pool searches are reported too, not only the first
+        assertTrue(furthestMove.get() > 1);
+        // the second search doesn't start at the first one's depth
+        assertEquals(2, startDepths.size());
+        assertEquals(0, startDepths.get(0).intValue());
+        assertEquals(0, startDepths.get(1).intValue());
+    }
+
+    @Test
+    public void testMateScore() {
+        // Qd8 mates, Qc7 stalemates
+        final Board board = FenUtilities.createGameFromFEN("k7/3Q4/1K6/8/8/8/8/8 w - - 0 1");
+        final List<Integer> scores = new ArrayList<>();
+        final AlphaBeta search = new AlphaBeta.Builder()
+                .setSearchDepth(5)
+                .setSearchListener(new SearchListener() {
+                    @Override
+                    public void iterationCompleted(final SearchProgress progress) {
+                        scores.add(progress.getScore());
+                    }
+                })
+                .build();
+        final Move move = search.execute(board);
+        assertTrue(board.getCurrentPlayer().makeMove(move).getBoard().getCurrentPlayer().isInCheckMate());
+        assertEquals(5, scores.size());
+        // the same mate in one at every depth, worth more than any material
+        for (final int score : scores) {
+            assertEquals(scores.get(0).intValue(), score);
+        }
+        assertTrue(scores.get(0) > 10000);
+    }
+
+    @Test
+    public void testMateScoreFromSharedTable() {
+        // a mate the deep search finds, and the shallow searches after it only know of from the table
+        Board board = FenUtilities.createGameFromFEN("8/8/8/8/8/1k6/8/K1Q5 w - - 0 1");
+        final TranspositionTable transpositionTable = new TranspositionTable(16);
+        final List<Integer> scores = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final AtomicInteger score = new AtomicInteger();
+            final Move move = new AlphaBeta.Builder()
+                    .setSearchDepth(i == 0 ? 10 : 3)
+                    .setTranspositionTable(transpositionTable)
+                    .setSearchListener(new SearchListener() {
+                        @Override
+                        public void iterationCompleted(final SearchProgress progress) {
+                            score.set(progress.getScore());
+                        }
+                    })
+                    .build()
+                    .execute(board);
+            scores.add(score.get());
+            board = board.getCurrentPlayer().makeMove(move).getBoard();
+        }
+        assertTrue(scores.get(0) > 10000);
+        // each move brings the mate one ply nearer
+        for (int i = 1; i < scores.size(); i++) {
+            assertEquals(scores.get(0) + i, scores.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testStalemateIsADraw() {
+        // Qxg6 wins the knight but leaves black without a move; quiescence doesn't look for stalemate, so from depth 2
+        final Board board = FenUtilities.createGameFromFEN("7k/8/6n1/8/8/3Q4/8/K7 w - - 0 1");
+        for (int depth = 2; depth <= 4; depth++) {
+            final Move move = new AlphaBeta(depth).execute(board);
+            assertFalse("depth " + depth, board.getCurrentPlayer().makeMove(move).getBoard().getCurrentPlayer().isInStaleMate());
+        }
+    }
+
+    @Test
+    public void testMoveTime() {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        final long moveTimeMillis = 300;
+        final List<Integer> depths = new ArrayList<>();
+        final AlphaBeta search = new AlphaBeta.Builder()
+                .setSearchDepth(30)
+                .setMoveTimeMillis(moveTimeMillis)
+                .setSearchListener(new SearchListener() {
+                    @Override
+                    public void iterationCompleted(final SearchProgress progress) {
+                        depths.add(progress.getDepth());
+                    }
+                })
+                .build();
+        final long startTime = System.currentTimeMillis();
+        final Move move = search.execute(board);
+        final long elapsedMillis = System.currentTimeMillis() - startTime;
+        assertTrue(board.getCurrentPlayer().getLegalMoves().contains(move));
+        // the clock is read every 1024 nodes, which take well under the slack
+        assertTrue("took " + elapsedMillis + " ms", elapsedMillis < moveTimeMillis + 150);
+        // one iteration after another, stopped well short of the depth
+        assertFalse(depths.isEmpty());
+        for (int i = 0; i < depths.size(); i++) {
+            assertEquals(i + 1, depths.get(i).intValue());
+        }
+        assertTrue(depths.size() < 30);
+        assertEquals(depths.size(), search.getLastSearchStatistics().getDepth());
+    }
+
+    @Test
+    public void testNodeLimit() {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        final long nodeLimit = 50000;
+        final AlphaBeta sequential = new AlphaBeta.Builder()
+                .setSearchDepth(30)
+                .setNodeLimit(nodeLimit)
+                .build();
+        assertNotNull(sequential.execute(board));
+        final SearchStatistics sequentialStatistics = sequential.getLastSearchStatistics();
+        assertTrue(sequentialStatistics.getDepth() < 30);
+        assertTrue(sequentialStatistics.getNodes() <= nodeLimit + 1024);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final AlphaBeta forkJoin = new AlphaBeta.Builder()
+                    .setSearchDepth(30)
+                    .setNodeLimit(nodeLimit)
+                    .setForkJoinPool(pool)
+                    .build();
+            assertNotNull(forkJoin.execute(board));
+            final SearchStatistics forkJoinStatistics = forkJoin.getLastSearchStatistics();
+            assertTrue(forkJoinStatistics.getDepth() < 30);
+            // every searcher may be up to one check interval past the budget when the others notice it is spent
+            assertTrue(forkJoinStatistics.getNodes() <= nodeLimit + 2 * 5 * 1024);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPruning() {
+        long prunedNodes = 0;
+        long fullNodes = 0;
+        for (final String fen : PerftSuite.FENS) {
+            final Board board = FenUtilities.createGameFromFEN(fen);
+            final AlphaBeta pruned = new AlphaBeta.Builder()
+                    .setSearchDepth(5)
+                    .setTranspositionTableSizeMB(16)
+                    .build();
+            final AlphaBeta full = deterministicSearch(5).build();
+            assertEquals(fen, full.execute(board), pruned.execute(board));
+            prunedNodes += pruned.getLastSearchStatistics().getNodes();
+            fullNodes += full.getLastSearchStatistics().getNodes();
+        }
+        assertTrue(prunedNodes + " nodes pruned, " + fullNodes + " not", prunedNodes < fullNodes * 3 / 4);
+
+        // and no mate is pruned away
+        final Board mateInTwo = FenUtilities.createGameFromFEN("k7/8/2K5/8/8/8/8/7R w - - 0 1");
+        final int fullScore = score(deterministicSearch(5), mateInTwo);
+        assertTrue(fullScore > 10000);
+        assertEquals(fullScore, score(new AlphaBeta.Builder().setSearchDepth(5), mateInTwo));
+    }
+
+    @Test
+    public void testStopDuringFirstIteration() throws Exception {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        final AtomicReference<AlphaBeta> search = new AtomicReference<>();
+        search.set(new AlphaBeta.Builder()
+                .setSearchDepth(20)
+                .setSearchListener(new SearchListener() {
+                    @Override
+                    public void searchStarted(final SearchProgress progress) {
+                        search.get().stop();
+                    }
+                })
+                .build());
+        final SearchHandle handle = search.get().executeAsync(board);
+        final Move move = handle.get();
+        assertNotNull(move);
+        assertTrue(board.getCurrentPlayer().getLegalMoves().contains(move));
+        assertNotNull(handle.getStatistics());
+    }
+
+    @Test
+    public void testCancelledSearchIsNotAnnounced() throws Exception {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicInteger finished = new AtomicInteger();
+        final AlphaBeta search = new AlphaBeta.Builder()
+                .setSearchDepth(20)
+                .setSearchListener(new SearchListener() {
+                    @Override
+                    public void searchStarted(final SearchProgress progress) {
+                        started.countDown();
+                    }
+
+                    @Override
+                    public void searchFinished(final SearchProgress progress) {
+                        finished.incrementAndGet();
+                    }
+                })
+                .build();
+        final long searches = SearchMetrics.get().getSearches();
+        final SearchHandle handle = search.executeAsync(board);
+        started.await();
+        assertTrue(handle.cancel(false));
+        handle.close();
+        assertTrue(handle.isCancelled());
+        assertNull(handle.getStatistics());
+        assertNull(search.getLastSearchStatistics());
+        assertEquals(0, finished.get());
+        assertEquals(searches, SearchMetrics.get().getSearches());
+    }
+
+    /**
+     * Score of the last iteration the search completes, from white's point of view.
+     */
+    private static int score(final AlphaBeta.Builder builder, final Board board) {
+        final AtomicInteger score = new AtomicInteger();
+        builder.setSearchListener(new SearchListener() {
+            @Override
+            public void iterationCompleted(final SearchProgress progress) {
+                score.set(progress.getScore());
+            }
+        }).build().execute(board);
+        return score.get();
+    }
+
+    /**
+     * Without the pruning that depends on the window or the move ordering, each with its own table.
+     */
+    private static AlphaBeta.Builder deterministicSearch(final int depth) {
+        return new AlphaBeta.Builder()
+                .setSearchDepth(depth)
+                .setTranspositionTableSizeMB(16)
+                .setNullMovePruning(false)
+                .setFutilityPruning(false)
+                .setRazoring(false)
+                .setLateMoveReductions(false);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.SearchHandle;
+import com.chess.engine.player.ai.SearchMetrics;
+import com.chess.engine.player.ai.SearchStatistics;
+import com.chess.perft.PerftSuite;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SearchStatisticsTest {
+
+    private static final int DEPTH = 5;
+
+    @Test
+    public void testFixedDepthSearch() {
+        final Board board = FenUtilities.createGameFromFEN(PerftSuite.FENS.get(1));
+        final AlphaBeta search = fixedDepthSearch();
+        final long searches = SearchMetrics.get().getSearches();
+        final long metricsNodes = SearchMetrics.get().getNodes();
+        final Move move = search.execute(board);
+        final SearchStatistics statistics = search.getLastSearchStatistics();
+
+        assertEquals(move, statistics.getBestMove());
+        assertEquals(DEPTH, statistics.getDepth());
+        assertEquals(search.getNodeCount(), statistics.getNodes());
+        // every iteration ran to the end, so their nodes add up to the search's
+        assertEquals(DEPTH, statistics.getIterationNodes().size());
+        assertEquals(DEPTH, statistics.getIterationMillis().size());
+        long iterationNodes = 0;
+        for (final long nodes : statistics.getIterationNodes()) {
+            assertTrue(nodes > 0);
+            iterationNodes += nodes;
+        }
+        assertEquals(statistics.getNodes(), iterationNodes);
+
+        assertTrue(statistics.getQuiescenceNodes() > 0);
+        assertTrue(statistics.getQuiescenceNodes() < statistics.getNodes());
+        assertTrue(statistics.getBetaCutoffs() > 0);
+        assertTrue(statistics.getFirstMoveCutoffs() <= statistics.getBetaCutoffs());
+        assertTrue(statistics.getTranspositionTableHits() > 0);
+        assertTrue(statistics.getTranspositionTableHits() <= statistics.getTranspositionTableProbes());
+        assertTrue(statistics.getEffectiveBranchingFactor() > 1);
+
+        assertEquals(searches + 1, SearchMetrics.get().getSearches());
+        assertEquals(metricsNodes + statistics.getNodes(), SearchMetrics.get().getNodes());
+        assertSame(statistics, SearchMetrics.get().getLastSearch());
+    }
+
+    @Test
+    public void testRepeatable() {
+        // a single thread with a table of its own counts the same every time
+        final Board board = FenUtilities.createGameFromFEN(PerftSuite.FENS.get(5));
+        final AlphaBeta first = fixedDepthSearch();
+        final AlphaBeta second = fixedDepthSearch();
+        first.execute(board);
+        second.execute(board);
+        final SearchStatistics expected = first.getLastSearchStatistics();
+        final SearchStatistics actual = second.getLastSearchStatistics();
+        assertEquals(expected.getBestMove(), actual.getBestMove());
+        assertEquals(expected.getNodes(), actual.getNodes());
+        assertEquals(expected.getQuiescenceNodes(), actual.getQuiescenceNodes());
+        assertEquals(expected.getBetaCutoffs(), actual.getBetaCutoffs());
+        assertEquals(expected.getFirstMoveCutoffs(), actual.getFirstMoveCutoffs());
+        assertEquals(expected.getTranspositionTableProbes(), actual.getTranspositionTableProbes());
+        assertEquals(expected.getTranspositionTableHits(), actual.getTranspositionTableHits());
+        assertEquals(expected.getIterationNodes(), actual.getIterationNodes());
+    }
+
+    @Test
+    public void testHandleStatistics() throws Exception {
+        final Board board = FenUtilities.createGameFromFEN(PerftSuite.FENS.get(0));
+        final AlphaBeta search = fixedDepthSearch();
+        final SearchHandle handle = search.executeAsync(board);
+        final Move move = handle.get();
+        final SearchStatistics statistics = handle.getStatistics();
+        assertSame(search.getLastSearchStatistics(), statistics);
+        assertEquals(move, statistics.getBestMove());
+        assertEquals(DEPTH, statistics.getDepth());
+    }
+
+    private static AlphaBeta fixedDepthSearch() {
+        return new AlphaBeta.Builder()
+                .setSearchDepth(DEPTH)
+                .setTranspositionTableSizeMB(16)
+                .build();
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.player.ai.TranspositionTable;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TranspositionTableTest {
+
+    private static final int[] SCORES = {
+            -TranspositionTable.MAX_SCORE, -99999, -250, -1, 0, 1, 250, 99999, TranspositionTable.MAX_SCORE
+    };
+    private static final int[] BOUNDS = {
+            TranspositionTable.EXACT, TranspositionTable.LOWER_BOUND, TranspositionTable.UPPER_BOUND
+    };
+    private static final int[] DEPTHS = {0, 1, 17, 255};
+
+    @Test
+    public void testStoreAndProbe() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final int[] moves = {
+                PackedMove.NO_MOVE,
+                PackedMove.create(52, 36, 0, BitBoard.EMPTY, PackedMove.NO_PROMOTION, PackedMove.DOUBLE_PAWN_PUSH),
+                // every field at its widest
+                PackedMove.create(63, 0, 11, 10, 4, PackedMove.QUEEN_SIDE_CASTLE)
+        };
+        long key = 0x9E3779B97F4A7C15L;
+        for (final int move : moves) {
+            for (final int score : SCORES) {
+                for (final int bound : BOUNDS) {
+                    for (final int depth : DEPTHS) {
+                        key += 0x9E3779B97F4A7C15L;
+                        table.store(key, move, score, depth, bound);
+                        final long entry = table.probe(key);
+                        assertNotEquals(TranspositionTable.NO_ENTRY, entry);
+                        assertEquals(move, TranspositionTable.getMove(entry));
+                        assertEquals(score, TranspositionTable.getScore(entry));
+                        assertEquals(depth, TranspositionTable.getDepth(entry));
+                        assertEquals(bound, TranspositionTable.getBound(entry));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOutOfRange() {
+        final TranspositionTable table = new TranspositionTable(1);
+        // scores that don't fit aren't stored, and depths that don't fit are capped
+        table.store(1, PackedMove.NO_MOVE, TranspositionTable.MAX_SCORE + 1, 4, TranspositionTable.EXACT);
+        table.store(2, PackedMove.NO_MOVE, -TranspositionTable.MAX_SCORE - 1, 4, TranspositionTable.EXACT);
+        table.store(3, PackedMove.NO_MOVE, 0, 300, TranspositionTable.EXACT);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(1));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(2));
+        assertEquals(255, TranspositionTable.getDepth(table.probe(3)));
+    }
+
+    @Test
+    public void testOverwriteAndClear() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long other = sameBucket(table, 7, 1);
+        table.store(7, PackedMove.NO_MOVE, 10, 3, TranspositionTable.LOWER_BOUND);
+        table.store(other, PackedMove.NO_MOVE, 20, 9, TranspositionTable.EXACT);
+        // a key that is already in the table is overwritten in place, whatever the depth
+        table.store(7, PackedMove.NO_MOVE, -30, 1, TranspositionTable.UPPER_BOUND);
+        assertEquals(-30, TranspositionTable.getScore(table.probe(7)));
+        assertEquals(TranspositionTable.UPPER_BOUND, TranspositionTable.getBound(table.probe(7)));
+        assertEquals(20, TranspositionTable.getScore(table.probe(other)));
+        // a key in the same bucket that was never stored misses
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(sameBucket(table, 7, 2)));
+
+        table.clear();
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(7));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(other));
+    }
+
+    @Test
+    public void testReplacement() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long deep = 5;
+        final long shallow = sameBucket(table, 5, 1);
+        final long next = sameBucket(table, 5, 2);
+        final long last = sameBucket(table, 5, 3);
+
+        // within a search, a full bucket gives up its shallowest entry
+        table.store(deep, PackedMove.NO_MOVE, 1, 10, TranspositionTable.EXACT);
+        table.store(shallow, PackedMove.NO_MOVE, 2, 2, TranspositionTable.EXACT);
+        table.store(next, PackedMove.NO_MOVE, 3, 4, TranspositionTable.EXACT);
+        assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(deep));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(shallow));
+        assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(next));
+
+        // two searches later the deep entry counts as shallower than a fresh one, and goes first
+        table.newSearch();
+        table.newSearch();
+        table.store(next, PackedMove.NO_MOVE, 3, 4, TranspositionTable.EXACT);
+        table.store(last, PackedMove.NO_MOVE, 4, 1, TranspositionTable.EXACT);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(deep));
+        assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(next));
+        assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(last));
+    }
+
+    /**
+     * A different key in the same bucket as the given one; the low bits of a key pick its bucket.
+     */
+    private static long sameBucket(final TranspositionTable table, final long key, final int index) {
+        final long bucketCount = table.getCapacity() / 2;
+        return key + index * bucketCount;
+    }
+
+}
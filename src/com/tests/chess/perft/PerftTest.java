@@ -0,0 +1,29 @@
+package com.tests.chess.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.perft.Perft;
+import com.chess.perft.PerftSuite;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PerftTest {
+
+    @Test
+    public void testPerftSuite() {
+        assertTrue(PerftSuite.run(3, new PrintStream(OutputStream.nullOutputStream())));
+    }
+
+    @Test
+    public void testDivide() {
+        final Map<String, Long> divide = Perft.divide(Board.createStandardBoard(), 2);
+        assertEquals(20, divide.size());
+        assertEquals(Long.valueOf(20), divide.get("e2e4"));
+        assertEquals(Long.valueOf(20), divide.get("g1f3"));
+    }
+
+}
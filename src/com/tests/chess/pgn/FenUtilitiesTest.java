@@ -0,0 +1,55 @@
+package com.tests.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FenUtilitiesTest {
+
+    @Test
+    public void testRoundTrip() {
+        final String[] fens = {
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w Kq f6 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 b - - 0 1"
+        };
+        for (final String fen : fens) {
+            assertEquals(fen, FenUtilities.createFENFromBoard(FenUtilities.createGameFromFEN(fen)));
+        }
+        assertEquals(fens[0], FenUtilities.createFENFromBoard(Board.createStandardBoard()));
+    }
+
+    @Test
+    public void testCastlingRightsNeedTheRightColour() {
+        // black rooks and kings on white's home squares, and white ones on black's, don't take the rights
+        final Board board = FenUtilities.createGameFromFEN("R3K2R/8/8/8/8/8/8/r3k2r w KQkq - 0 1");
+        assertEquals("R3K2R/8/8/8/8/8/8/r3k2r w - - 0 1", FenUtilities.createFENFromBoard(board));
+    }
+
+    @Test
+    public void testMalformedPlacement() {
+        final String[] placements = {
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP",
+                "rnbqkbnr/pppppppp/8/8/8/8/8/PPPPPPPP/RNBQKBNR",
+                "rnbqkbnr/ppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR",
+                "rnbqkbnr/ppppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR",
+                "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR",
+                "rnbqkbnr/pppppppp/8/8/7/9/PPPPPPPP/RNBQKBNR",
+                "rnbqkbnr/pppppppp/8/8//8/8/PPPPPPPP/RNBQKBNR",
+                "rnbqkbnrpppppppp/8/8/8/8/8/PPPPPPPP/RNBQKBNR",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNX"
+        };
+        for (final String placement : placements) {
+            try {
+                FenUtilities.createGameFromFEN(placement + " w KQkq - 0 1");
+                fail(placement);
+            } catch (final RuntimeException expected) {
+            }
+        }
+    }
+
+}